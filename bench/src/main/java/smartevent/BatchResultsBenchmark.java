@@ -0,0 +1,81 @@
+package smartevent;
+
+import org.openjdk.jmh.annotations.*;
+import smartevent.SmartEventOrganizerSwing.Result;
+import smartevent.SmartEventOrganizerSwing.ResultBatch;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A 300-row results sheet for one event: validating it against the users and
+ * published results, then publishing it row by row (one store version, journal
+ * record and version bump each) against publishing it as one batch. Every
+ * publish goes to a new event, so the sheet always validates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class BatchResultsBenchmark {
+
+    static final int EVENTS = 1000;
+    static final int USERS = 100_000;
+    static final int ROWS = 300;
+
+    @Param({"10000", "1000000"})
+    int results;
+
+    String sheet;
+    List<Result> valid;
+    int next;
+
+    // re-seeded each iteration so the store doesn't grow without bound
+    @Setup(Level.Iteration)
+    public void setup() {
+        BenchData.reset();
+        BenchData.seedUsers(USERS);
+        BenchData.seedEvents(EVENTS, 100);
+        BenchData.seedResults(results, EVENTS);
+        StringBuilder sb = new StringBuilder("student,department,position\n");
+        for (int i = 0; i < ROWS; i++) {
+            int s = i * (USERS / ROWS);
+            sb.append("Student ").append(s).append(',').append(BenchData.DEPARTMENTS[s % BenchData.DEPARTMENTS.length])
+                    .append(',').append(i < 3 ? (i + 1) + (i == 0 ? "st" : i == 1 ? "nd" : "rd") : "Participation").append('\n');
+        }
+        sheet = sb.toString();
+        ResultBatch batch = ResultBatch.parse("Batch", sheet);
+        if (!batch.ok()) throw new IllegalStateException(batch.summary());
+        valid = batch.rows;
+    }
+
+    // the sheet as validated rows for a new event; what the publish benchmarks start from
+    private List<Result> rows() {
+        List<Result> rows = new ArrayList<>(valid.size());
+        String eventName = "Batch " + next++;
+        for (Result r : valid) rows.add(new Result(eventName, r.studentName, r.department, r.position));
+        return rows;
+    }
+
+    @Benchmark
+    public ResultBatch validate() {
+        return ResultBatch.parse("Batch " + next++, sheet);
+    }
+
+    @Benchmark
+    public int publishRowByRow() {
+        List<Result> rows = rows();
+        for (Result r : rows) SmartEventOrganizerSwing.publishResult(r);
+        return rows.size();
+    }
+
+    @Benchmark
+    public int publishBatch() {
+        List<Result> rows = rows();
+        SmartEventOrganizerSwing.publishResults(rows);
+        return rows.size();
+    }
+}
@@ -0,0 +1,73 @@
+package smartevent;
+
+import smartevent.SmartEventOrganizerSwing.Event;
+import smartevent.SmartEventOrganizerSwing.EventStore;
+import smartevent.SmartEventOrganizerSwing.RegistrationLedger;
+import smartevent.SmartEventOrganizerSwing.Reminder;
+import smartevent.SmartEventOrganizerSwing.Result;
+import smartevent.SmartEventOrganizerSwing.ResultStore;
+import smartevent.SmartEventOrganizerSwing.SearchIndex;
+import smartevent.SmartEventOrganizerSwing.User;
+import smartevent.SmartEventOrganizerSwing.UserStore;
+import smartevent.SmartEventOrganizerSwing.Waitlist;
+
+import java.time.LocalDate;
+
+/**
+ * Fills the application's static stores with synthetic data of a given size.
+ * Persistence is switched off so benchmarks measure only in-memory work.
+ */
+final class BenchData {
+    static final String[] DEPARTMENTS = {"CSE", "ECE", "EEE", "MECH", "CIVIL", "IT"};
+    static final String[] POSITIONS = {"1st", "2nd", "3rd", "Participation", "Participation"};
+    static final LocalDate FIRST_DAY = LocalDate.of(2025, 1, 1);
+
+    private BenchData() {
+    }
+
+    static void reset() {
+        SmartEventOrganizerSwing.journal = null;
+        SmartEventOrganizerSwing.users = new UserStore();
+        SmartEventOrganizerSwing.events = new EventStore();
+        SmartEventOrganizerSwing.results = new ResultStore();
+        SmartEventOrganizerSwing.searchIndex = new SearchIndex();
+        SmartEventOrganizerSwing.registrations = new RegistrationLedger();
+        SmartEventOrganizerSwing.waitlist = new Waitlist();
+        for (Reminder r : SmartEventOrganizerSwing.reminders.pendingList()) SmartEventOrganizerSwing.reminders.cancel(r.id);
+    }
+
+    static String username(int i) {
+        return "stu" + i;
+    }
+
+    static String password(int i) {
+        return "pw" + i;
+    }
+
+    static String eventName(int i) {
+        return "Event " + i;
+    }
+
+    static void seedUsers(int n) {
+        SmartEventOrganizerSwing.users.add(new User("admin", "admin", "Admin"));
+        for (int i = 0; i < n; i++) {
+            SmartEventOrganizerSwing.users.add(new User(username(i), password(i), "Student",
+                    "Student " + i, DEPARTMENTS[i % DEPARTMENTS.length]));
+        }
+    }
+
+    // Spread over one year so every month has events
+    static void seedEvents(int n, int totalSeats) {
+        for (int i = 0; i < n; i++) {
+            SmartEventOrganizerSwing.events.add(new Event(eventName(i), "Hall " + (i % 20),
+                    FIRST_DAY.plusDays(i % 365), totalSeats));
+        }
+    }
+
+    static void seedResults(int n, int events) {
+        for (int i = 0; i < n; i++) {
+            SmartEventOrganizerSwing.results.add(new Result(eventName(i % events), "Student " + i,
+                    DEPARTMENTS[i % DEPARTMENTS.length], POSITIONS[(i / events) % POSITIONS.length]));
+        }
+    }
+}
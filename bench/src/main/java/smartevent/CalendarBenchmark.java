@@ -0,0 +1,35 @@
+package smartevent;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.YearMonth;
+import java.util.concurrent.TimeUnit;
+
+/** Calendar month render: per-day event counts for one month, cycling through the year. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class CalendarBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int events;
+
+    YearMonth[] months;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchData.reset();
+        BenchData.seedEvents(events, 100);
+        months = new YearMonth[12];
+        for (int m = 0; m < 12; m++) months[m] = YearMonth.from(BenchData.FIRST_DAY).plusMonths(m);
+    }
+
+    @Benchmark
+    public int[] monthCounts() {
+        return SmartEventOrganizerSwing.events.countsForMonth(months[next++ % 12]);
+    }
+}
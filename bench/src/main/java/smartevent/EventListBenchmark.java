@@ -0,0 +1,29 @@
+package smartevent;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** "View Events": eventList() building the whole text dump. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class EventListBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int events;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchData.reset();
+        BenchData.seedEvents(events, 100);
+    }
+
+    @Benchmark
+    public String eventList() {
+        return SmartEventOrganizerSwing.eventList();
+    }
+}
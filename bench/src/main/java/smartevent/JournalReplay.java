@@ -0,0 +1,97 @@
+package smartevent;
+
+import smartevent.SmartEventOrganizerSwing.Event;
+import smartevent.SmartEventOrganizerSwing.Journal;
+import smartevent.SmartEventOrganizerSwing.Result;
+import smartevent.SmartEventOrganizerSwing.User;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Startup time with a long journal: writes n operations (students, events,
+ * registrations and results), then times Journal.open twice. The first open
+ * replays the whole log and folds it into a snapshot. The second loads that
+ * snapshot. The target is under a second for 1M operations.
+ *
+ * <pre>java -cp bench/target/benchmarks.jar smartevent.JournalReplay [operations] [dir]</pre>
+ */
+public final class JournalReplay {
+    static final int EVENTS = 1_000;
+
+    record Timing(long operations, long replayMillis, long snapshotMillis, long registrations, int results) {
+    }
+
+    private JournalReplay() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path dir = args.length > 1 ? Path.of(args[1]) : Files.createTempDirectory("smartevent-replay");
+        try {
+            Timing t = run(n, dir);
+            System.out.printf("%,d operations: replay %d ms, from snapshot %d ms (%,d registrations, %,d results)%n",
+                    t.operations(), t.replayMillis(), t.snapshotMillis(), t.registrations(), t.results());
+            System.out.println(t.replayMillis() < 1000 ? "under 1 s" : "OVER 1 s");
+        } finally {
+            if (args.length < 2) delete(dir);
+        }
+    }
+
+    // One student per 10 operations, registrations for 8 in 10 and results for the rest
+    static Timing run(int operations, Path dir) throws IOException {
+        BenchData.reset();
+        Journal j = Journal.open(dir);
+        int students = operations / 10, registrations = operations * 8 / 10;
+        int results = operations - students - EVENTS - registrations;
+        Event[] eventById = new Event[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            Event ev = new Event(BenchData.eventName(i), "Hall " + (i % 20), BenchData.FIRST_DAY.plusDays(i % 365), students);
+            ev.id = i;
+            eventById[i] = ev;
+            j.logEvent(ev);
+        }
+        User[] userById = new User[students];
+        for (int i = 0; i < students; i++) {
+            User u = new User(BenchData.username(i), BenchData.password(i), "Student", "Student " + i,
+                    BenchData.DEPARTMENTS[i % BenchData.DEPARTMENTS.length]);
+            u.id = i;
+            userById[i] = u;
+            j.logUser(u);
+        }
+        // student s takes events s, s + 1, ... so no pair repeats
+        for (int k = 0; k < registrations; k++) {
+            int s = k % students;
+            j.logRegistration(eventById[(s + k / students) % EVENTS], userById[s], true);
+        }
+        for (int i = 0; i < results; i++) {
+            j.logResult(new Result(BenchData.eventName(i % EVENTS), "Student " + (i % students),
+                    BenchData.DEPARTMENTS[i % BenchData.DEPARTMENTS.length], BenchData.POSITIONS[i % BenchData.POSITIONS.length]));
+        }
+        j.flushed().join();
+        j.close();
+
+        BenchData.reset();
+        long t0 = System.nanoTime();
+        j = Journal.open(dir);
+        long replay = (System.nanoTime() - t0) / 1_000_000;
+        j.close();
+
+        BenchData.reset();
+        t0 = System.nanoTime();
+        j = Journal.open(dir);
+        long snapshot = (System.nanoTime() - t0) / 1_000_000;
+        j.close();
+        return new Timing(operations, replay, snapshot, SmartEventOrganizerSwing.registrations.total(),
+                SmartEventOrganizerSwing.results.size());
+    }
+
+    static void delete(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) Files.delete(p);
+        }
+    }
+}
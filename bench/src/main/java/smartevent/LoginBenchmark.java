@@ -0,0 +1,49 @@
+package smartevent;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Login lookup: username index hit followed by the password/role check. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class LoginBenchmark {
+
+    @Param({"100", "10000", "1000000"})
+    int users;
+
+    // Pre-built so the measurement doesn't include string concatenation
+    String[] usernames;
+    String[] passwords;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchData.reset();
+        BenchData.seedUsers(users);
+        int probes = 4096;
+        usernames = new String[probes];
+        passwords = new String[probes];
+        for (int i = 0; i < probes; i++) {
+            int u = (int) ((i * 2654435761L) % users);
+            usernames[i] = BenchData.username(u);
+            passwords[i] = BenchData.password(u);
+        }
+    }
+
+    @Benchmark
+    public SmartEventOrganizerSwing.User login() {
+        int i = next++ & (usernames.length - 1);
+        return SmartEventOrganizerSwing.users.authenticate(usernames[i], passwords[i], "Student");
+    }
+
+    @Benchmark
+    public boolean duplicateUsernameCheck() {
+        int i = next++ & (usernames.length - 1);
+        return SmartEventOrganizerSwing.users.exists(usernames[i]);
+    }
+}
@@ -0,0 +1,60 @@
+package smartevent;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registration through register() (ledger duplicate check + CAS reserve), paired
+ * with unregister() so the event never fills up. Each thread registers its own
+ * students; the contended variant runs on every core against the same few events.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class RegistrationBenchmark {
+
+    @Param({"1", "100"})
+    int events;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchData.reset();
+        BenchData.seedEvents(events, 1_000_000);
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        static final AtomicInteger threads = new AtomicInteger();
+        final SmartEventOrganizerSwing.User[] students = new SmartEventOrganizerSwing.User[64];
+        int next;
+
+        public Cursor() {
+            int base = threads.getAndIncrement() * students.length;
+            for (int i = 0; i < students.length; i++) {
+                students[i] = new SmartEventOrganizerSwing.User(BenchData.username(base + i), "pw", "Student");
+                students[i].id = base + i;
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean registerAndCancel(Cursor c) {
+        int i = c.next++;
+        SmartEventOrganizerSwing.Event ev = SmartEventOrganizerSwing.events.get(i % events);
+        SmartEventOrganizerSwing.User u = c.students[i & (c.students.length - 1)];
+        boolean ok = SmartEventOrganizerSwing.register(ev, u);
+        SmartEventOrganizerSwing.unregister(ev, u);
+        return ok;
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean registerAndCancelContended(Cursor c) {
+        return registerAndCancel(c);
+    }
+}
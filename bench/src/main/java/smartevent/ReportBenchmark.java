@@ -0,0 +1,49 @@
+package smartevent;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/** Report engine: the parallel aggregation pass, and aggregation plus CSV streaming. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ReportBenchmark {
+
+    static final int EVENTS = 1000, STUDENTS = 10_000;
+
+    @Param({"100000", "1000000"})
+    int results;
+
+    @Param({"DEPARTMENTS", "EVENTS", "MONTHS"})
+    String report;
+
+    SmartEventOrganizerSwing.ReportEngine.Kind kind;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        kind = SmartEventOrganizerSwing.ReportEngine.Kind.valueOf(report);
+        BenchData.reset();
+        BenchData.seedUsers(STUDENTS);
+        BenchData.seedEvents(EVENTS, 100);
+        BenchData.seedResults(results, EVENTS);
+        for (int i = 0; i < STUDENTS; i++) {
+            SmartEventOrganizerSwing.register(SmartEventOrganizerSwing.events.get(i % EVENTS), SmartEventOrganizerSwing.users.get(i + 1));
+        }
+    }
+
+    @Benchmark
+    public SmartEventOrganizerSwing.ReportEngine.Totals aggregate() {
+        return SmartEventOrganizerSwing.ReportEngine.aggregate();
+    }
+
+    @Benchmark
+    public long aggregateAndWrite() throws IOException {
+        return SmartEventOrganizerSwing.ReportEngine.write(kind, SmartEventOrganizerSwing.ReportEngine.aggregate(), Writer.nullWriter());
+    }
+}
@@ -0,0 +1,60 @@
+package smartevent;
+
+import smartevent.SmartEventOrganizerSwing.Result;
+import smartevent.SmartEventOrganizerSwing.ResultStore;
+
+import java.util.ArrayList;
+
+/**
+ * Retained heap of 1M published results: the old {@code ArrayList<Result>} layout
+ * against the dictionary-encoded {@link ResultStore}. Every row gets fresh
+ * String copies, as journal replay and the publish dialog produce them.
+ *
+ * <pre>java -cp bench/target/benchmarks.jar smartevent.ResultMemory [rows]</pre>
+ */
+public final class ResultMemory {
+    static final int EVENTS = 5_000, STUDENTS = 200_000;
+
+    private ResultMemory() {
+    }
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+
+        long base = usedHeap();
+        ArrayList<Result> list = new ArrayList<>();
+        for (int i = 0; i < rows; i++) list.add(row(i));
+        long listBytes = usedHeap() - base;
+        report("ArrayList<Result>", listBytes, rows, list.size());
+        list = null;
+
+        base = usedHeap();
+        ResultStore store = new ResultStore();
+        for (int i = 0; i < rows; i++) store.add(row(i));
+        long storeBytes = usedHeap() - base;
+        report("ResultStore", storeBytes, rows, store.size());
+        System.out.printf("ratio               %.1fx smaller%n", listBytes / (double) storeBytes);
+    }
+
+    static Result row(int i) {
+        return new Result(new String(BenchData.eventName(i % EVENTS)),
+                new String("Student " + (i % STUDENTS)),
+                new String(BenchData.DEPARTMENTS[i % BenchData.DEPARTMENTS.length]),
+                new String(BenchData.POSITIONS[(i / EVENTS) % BenchData.POSITIONS.length]));
+    }
+
+    static void report(String name, long bytes, int rows, int size) {
+        System.out.printf("%-19s %,d rows  %,.1f MB  %.1f bytes/row%n",
+                name, size, bytes / 1e6, bytes / (double) rows);
+    }
+
+    static long usedHeap() {
+        Runtime rt = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        for (int i = 0; i < 5; i++) {
+            System.gc();
+            used = Math.min(used, rt.totalMemory() - rt.freeMemory());
+        }
+        return used;
+    }
+}
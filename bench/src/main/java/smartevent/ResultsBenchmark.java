@@ -0,0 +1,37 @@
+package smartevent;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** "View Results by Event": per-event lookup plus the text the student view shows. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class ResultsBenchmark {
+
+    static final int EVENTS = 1000;
+
+    @Param({"10000", "100000", "1000000"})
+    int results;
+
+    String[] eventNames;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchData.reset();
+        BenchData.seedEvents(EVENTS, 100);
+        BenchData.seedResults(results, EVENTS);
+        eventNames = new String[EVENTS];
+        for (int i = 0; i < EVENTS; i++) eventNames[i] = BenchData.eventName(i);
+    }
+
+    @Benchmark
+    public String resultsForEvent() {
+        return SmartEventOrganizerSwing.resultsText(eventNames[next++ % EVENTS]);
+    }
+}
@@ -0,0 +1,36 @@
+package smartevent;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Type-ahead search over 100k entities (half events, half students), one query per keystroke. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SearchBenchmark {
+
+    @Param({"100000"})
+    int entities;
+
+    // broad one-letter prefix, username prefix, two-word query, exact department
+    @Param({"s", "stu123", "event 42", "cse"})
+    String query;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchData.reset();
+        BenchData.seedUsers(entities / 2);
+        BenchData.seedEvents(entities / 2, 100);
+        SmartEventOrganizerSwing.searchIndex.rebuild();
+    }
+
+    @Benchmark
+    public List<SmartEventOrganizerSwing.SearchIndex.Hit> search() {
+        return SmartEventOrganizerSwing.searchIndex.search(query, SmartEventOrganizerSwing.SearchBox.LIMIT, false);
+    }
+}
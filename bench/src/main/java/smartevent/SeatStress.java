@@ -0,0 +1,112 @@
+package smartevent;
+
+import smartevent.SmartEventOrganizerSwing.Event;
+import smartevent.SmartEventOrganizerSwing.User;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registration rush against a small seat cap. Thousands of registrants are
+ * released together on a pool of platform threads (JDK 17 has no virtual
+ * threads). Each one races register()/unregister() on one event and
+ * reserve(n)/cancel(n) group bookings on another, while a watcher samples both
+ * counts. Afterwards each event's bookedSeats must equal the successful
+ * reserves minus cancels and must never have gone over capacity. Exits 1 on a
+ * mismatch.
+ *
+ * <pre>java -cp bench/target/benchmarks.jar smartevent.SeatStress [registrants] [threads] [seats]</pre>
+ */
+public final class SeatStress {
+    static final int ROUNDS = 50; // attempts per registrant on each event
+
+    record Outcome(int seats, long registered, int booked, int attendees, long groupSeats, int groupBooked,
+                   int maxBooked, long ops, long nanos) {
+        boolean exact() {
+            return booked == registered && attendees == registered && groupBooked == groupSeats && maxBooked <= seats;
+        }
+
+        double opsPerSecond() {
+            return ops * 1e9 / nanos;
+        }
+    }
+
+    private SeatStress() {
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int registrants = args.length > 0 ? Integer.parseInt(args[0]) : 5_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int seats = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        Outcome o = run(registrants, threads, seats);
+        System.out.printf("%,d registrants on %d threads, %d seats%n", registrants, threads, seats);
+        System.out.printf("register   booked %d  successful %d  ledger %d%n", o.booked(), o.registered(), o.attendees());
+        System.out.printf("reserve(n) booked %d  successful %d%n", o.groupBooked(), o.groupSeats());
+        System.out.printf("max booked %d  %,.0f ops/s  %s%n", o.maxBooked(), o.opsPerSecond(), o.exact() ? "exact" : "MISMATCH");
+        if (!o.exact()) System.exit(1);
+    }
+
+    static Outcome run(int registrants, int threads, int seats) throws InterruptedException {
+        BenchData.reset();
+        BenchData.seedUsers(registrants); // the admin first, then one student per registrant
+        Event ev = new Event("Rush", "Main Hall", BenchData.FIRST_DAY, seats);
+        Event group = new Event("Group Rush", "Main Hall", BenchData.FIRST_DAY, seats);
+        SmartEventOrganizerSwing.events.add(ev);
+        SmartEventOrganizerSwing.events.add(group);
+
+        LongAdder registered = new LongAdder(), groupSeats = new LongAdder(), ops = new LongAdder();
+        AtomicInteger maxBooked = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int i = 1; i <= registrants; i++) {
+            User u = SmartEventOrganizerSwing.users.get(i);
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                ThreadLocalRandom rnd = ThreadLocalRandom.current();
+                boolean mine = false;
+                for (int r = 0; r < ROUNDS; r++) {
+                    if (!mine) {
+                        mine = SmartEventOrganizerSwing.register(ev, u);
+                        if (mine) registered.increment();
+                    } else if (rnd.nextBoolean() && SmartEventOrganizerSwing.unregister(ev, u)) {
+                        mine = false;
+                        registered.decrement();
+                    }
+                    int n = 1 + rnd.nextInt(3);
+                    if (group.reserve(n)) {
+                        groupSeats.add(n);
+                        if (rnd.nextBoolean() && group.cancel(n)) groupSeats.add(-n);
+                    }
+                }
+                ops.add(2L * ROUNDS);
+            });
+        }
+        Thread watcher = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                maxBooked.accumulateAndGet(Math.max(ev.bookedSeats, group.bookedSeats), Math::max);
+            }
+        }, "seat-watcher");
+        watcher.setDaemon(true);
+        watcher.start();
+
+        long t0 = System.nanoTime();
+        start.countDown();
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.MINUTES);
+        long nanos = System.nanoTime() - t0;
+        watcher.interrupt();
+        watcher.join();
+        maxBooked.accumulateAndGet(Math.max(ev.bookedSeats, group.bookedSeats), Math::max);
+        return new Outcome(seats, registered.sum(), ev.bookedSeats, SmartEventOrganizerSwing.registrations.attendees(ev.id).length,
+                groupSeats.sum(), group.bookedSeats, maxBooked.get(), ops.sum(), nanos);
+    }
+}
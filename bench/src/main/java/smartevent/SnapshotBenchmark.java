@@ -0,0 +1,73 @@
+package smartevent;
+
+import org.openjdk.jmh.annotations.*;
+import smartevent.SmartEventOrganizerSwing.Result;
+import smartevent.SmartEventOrganizerSwing.ResultStore;
+
+import java.time.YearMonth;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lock-free reads of published store versions: a snapshot of the results, one
+ * event's results from it, and a calendar month of event counts. "reads" runs
+ * readers alone; "readsWithWriter" adds a thread publishing results the whole
+ * time, which readers should not notice. Compare -t / thread counts across
+ * machines to see how reads scale with cores.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class SnapshotBenchmark {
+
+    static final int EVENTS = 1000;
+
+    @Param({"100000", "1000000"})
+    int results;
+
+    String[] eventNames;
+    int published;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchData.reset();
+        BenchData.seedEvents(EVENTS, 100);
+        BenchData.seedResults(results, EVENTS);
+        eventNames = new String[EVENTS];
+        for (int i = 0; i < EVENTS; i++) eventNames[i] = BenchData.eventName(i);
+    }
+
+    private int read() {
+        ThreadLocalRandom rnd = ThreadLocalRandom.current();
+        ResultStore.Snapshot snap = SmartEventOrganizerSwing.results.snapshot();
+        int n = snap.forEvent(eventNames[rnd.nextInt(EVENTS)]).size();
+        int[] counts = SmartEventOrganizerSwing.events.countsForMonth(YearMonth.of(2025, 1 + rnd.nextInt(12)));
+        return n + counts[1] + snap.size();
+    }
+
+    @Benchmark
+    @Group("reads")
+    @GroupThreads(4)
+    public int reader() {
+        return read();
+    }
+
+    @Benchmark
+    @Group("readsWithWriter")
+    @GroupThreads(3)
+    public int readerBesideWriter() {
+        return read();
+    }
+
+    @Benchmark
+    @Group("readsWithWriter")
+    @GroupThreads(1)
+    public void writer() {
+        int i = published++;
+        SmartEventOrganizerSwing.publishResult(new Result(eventNames[i % EVENTS], "Late " + i,
+                BenchData.DEPARTMENTS[i % BenchData.DEPARTMENTS.length], BenchData.POSITIONS[i % BenchData.POSITIONS.length]));
+    }
+}
@@ -0,0 +1,56 @@
+package smartevent;
+
+import org.openjdk.jmh.annotations.*;
+import smartevent.SmartEventOrganizerSwing.Event;
+import smartevent.SmartEventOrganizerSwing.EventStore;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "Add Event" venue checks: the overlap test run before every booking and the
+ * week of free slots for one venue. Events are one to four hours long, spread
+ * over 40 venues and one year.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class VenueBenchmark {
+
+    static final int VENUES = 40, PROBES = 1024;
+
+    @Param({"10000", "100000"})
+    int events;
+
+    Event[] probes;
+    int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchData.reset();
+        for (int i = 0; i < events; i++) {
+            int start = 8 * 60 + (i * 37) % (12 * 60);
+            SmartEventOrganizerSwing.events.add(new Event(BenchData.eventName(i), "Hall " + (i % VENUES),
+                    BenchData.FIRST_DAY.plusDays((i / VENUES) % 365), start, start + 60 + (i % 4) * 60, 100));
+        }
+        probes = new Event[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = new Event("Probe", "Hall " + (i % VENUES), BenchData.FIRST_DAY.plusDays(i % 365),
+                    14 * 60, 16 * 60, 100);
+        }
+    }
+
+    @Benchmark
+    public List<Event> conflicts() {
+        return SmartEventOrganizerSwing.events.conflicts(probes[next++ & (PROBES - 1)]);
+    }
+
+    @Benchmark
+    public List<EventStore.Slot> freeSlotsWeek() {
+        Event p = probes[next++ & (PROBES - 1)];
+        return SmartEventOrganizerSwing.events.freeSlots(p.location, p.date, 7, 30);
+    }
+}
@@ -0,0 +1,53 @@
+package smartevent;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Waitlist churn: a registered student cancels (the head of the queue is
+ * promoted into the seat) and rejoins at the tail, so queue lengths stay steady.
+ * 50,000 students are spread over the events; each event has 20 seats, the
+ * rest wait. The contended variant runs on every core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class WaitlistBenchmark {
+
+    static final int STUDENTS = 50_000, SEATS = 20;
+
+    @Param({"100", "500"})
+    int events;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BenchData.reset();
+        BenchData.seedUsers(STUDENTS);
+        BenchData.seedEvents(events, SEATS);
+        for (int i = 0; i < STUDENTS; i++) {
+            SmartEventOrganizerSwing.Event ev = SmartEventOrganizerSwing.events.get(i % events);
+            SmartEventOrganizerSwing.User u = SmartEventOrganizerSwing.users.get(i + 1); // 0 is admin
+            if (!SmartEventOrganizerSwing.register(ev, u)) SmartEventOrganizerSwing.joinWaitlist(ev, u);
+        }
+    }
+
+    @Benchmark
+    public boolean cancelPromoteRejoin() {
+        SmartEventOrganizerSwing.Event ev = SmartEventOrganizerSwing.events.get(ThreadLocalRandom.current().nextInt(events));
+        int[] attendees = SmartEventOrganizerSwing.registrations.attendees(ev.id);
+        if (attendees.length == 0) return false;
+        SmartEventOrganizerSwing.User u = SmartEventOrganizerSwing.users.get(attendees[ThreadLocalRandom.current().nextInt(attendees.length)]);
+        return SmartEventOrganizerSwing.unregister(ev, u) && SmartEventOrganizerSwing.joinWaitlist(ev, u);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public boolean cancelPromoteRejoinContended() {
+        return cancelPromoteRejoin();
+    }
+}
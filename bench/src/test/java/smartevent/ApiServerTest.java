@@ -0,0 +1,83 @@
+package smartevent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smartevent.SmartEventOrganizerSwing.ApiServer;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApiServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private ApiServer server;
+
+    @BeforeEach
+    void start() throws IOException {
+        BenchData.reset();
+        BenchData.seedUsers(2);
+        BenchData.seedEvents(3, 10);
+        BenchData.seedResults(30, 3);
+        server = new ApiServer(0, Duration.ofMillis(200));
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop();
+    }
+
+    @Test
+    void onlyRealEventsAreCached() throws Exception {
+        for (int i = 0; i < 100; i++) assertEquals(200, get("/api/results?event=nope" + i).statusCode());
+        assertEquals(0, server.cachedResults());
+        String body = get("/api/results?event=Event+1").body();
+        assertTrue(body.startsWith("[{\"student\":"));
+        assertEquals(1, server.cachedResults());
+
+        SmartEventOrganizerSwing.publishResult(new SmartEventOrganizerSwing.Result("Event 1", "Student 0", "CSE", "1st"));
+        assertNotEquals(body, get("/api/results?event=Event+1").body());
+        assertEquals(1, server.cachedResults());
+    }
+
+    @Test
+    void logoutEndsTheSession() throws Exception {
+        String token = login();
+        assertEquals(200, post("/api/register", "token=" + token + "&event=0").statusCode());
+        assertEquals(200, post("/api/logout", "token=" + token).statusCode());
+        assertEquals(401, post("/api/register", "token=" + token + "&event=1").statusCode());
+    }
+
+    @Test
+    void idleSessionsExpire() throws Exception {
+        String token = login();
+        Thread.sleep(400);
+        assertEquals(401, post("/api/register", "token=" + token + "&event=0").statusCode());
+    }
+
+    private String login() throws Exception {
+        HttpResponse<String> r = post("/api/login", "username=stu0&password=pw0&role=Student");
+        assertEquals(200, r.statusCode());
+        return r.body().replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpResponse<String> post(String path, String form) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form)).build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + server.port() + path);
+    }
+}
@@ -0,0 +1,85 @@
+package smartevent;
+
+import org.junit.jupiter.api.Test;
+import smartevent.SmartEventOrganizerSwing.Event;
+import smartevent.SmartEventOrganizerSwing.EventStore;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EventStoreTest {
+
+    static final LocalDate DAY = LocalDate.of(2025, 1, 1);
+
+    // checked against a scan of every event; venue names differ only in case
+    @Test
+    void conflictsAndFreeSlotsMatchABruteForceScan() {
+        Random r = new Random(7);
+        int venues = 20;
+        EventStore store = new EventStore();
+        List<Event> all = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            Event ev = randomEvent(r, "E" + i, (r.nextBoolean() ? "Room " : "ROOM ") + r.nextInt(venues), 60);
+            store.add(ev);
+            all.add(ev);
+        }
+        for (int q = 0; q < 500; q++) {
+            Event c = randomEvent(r, "Q", "room " + r.nextInt(venues), 60);
+            Set<Event> want = new HashSet<>();
+            for (Event o : all) {
+                if (o.location.equalsIgnoreCase(c.location) && o.date.equals(c.date)
+                        && o.startMinute < c.endMinute && c.startMinute < o.endMinute) want.add(o);
+            }
+            assertEquals(want, new HashSet<>(store.conflicts(c)));
+
+            String venue = "Room " + r.nextInt(venues);
+            LocalDate from = DAY.plusDays(r.nextInt(55));
+            int min = 1 + r.nextInt(120);
+            assertEquals(freeSlots(all, venue, from, min), store.freeSlots(venue, from, 7, min).stream().map(Object::toString).toList());
+        }
+        assertEquals(venues, store.venues().size());
+    }
+
+    @Test
+    void backToBackBookingsDoNotClash() {
+        EventStore store = new EventStore();
+        store.add(new Event("A", "Hall", DAY, 600, 720, 5));
+        assertTrue(store.conflicts(new Event("B", "hall ", DAY, 720, 780, 5)).isEmpty());
+        assertEquals(1, store.conflicts(new Event("C", "HALL", DAY, 700, 780, 5)).size());
+    }
+
+    private static Event randomEvent(Random r, String name, String venue, int days) {
+        int start = r.nextInt(1400);
+        int end = start + 1 + r.nextInt(Math.min(300, 1440 - start));
+        return new Event(name, venue, DAY.plusDays(r.nextInt(days)), start, end, 10);
+    }
+
+    private static List<String> freeSlots(List<Event> all, String venue, LocalDate from, int min) {
+        List<String> slots = new ArrayList<>();
+        for (int d = 0; d < 7; d++) {
+            LocalDate day = from.plusDays(d);
+            boolean[] busy = new boolean[1440];
+            for (Event o : all) {
+                if (o.location.equalsIgnoreCase(venue) && o.date.equals(day)) {
+                    for (int m = o.startMinute; m < o.endMinute; m++) busy[m] = true;
+                }
+            }
+            for (int m = EventStore.OPENS; m < EventStore.CLOSES; ) {
+                if (busy[m]) {
+                    m++;
+                    continue;
+                }
+                int start = m;
+                while (m < EventStore.CLOSES && !busy[m]) m++;
+                if (m - start >= min) slots.add(new EventStore.Slot(day, start, m).toString());
+            }
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,35 @@
+package smartevent;
+
+import org.junit.jupiter.api.Test;
+import smartevent.SmartEventOrganizerSwing.IdSet;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdSetTest {
+
+    // dense rounds cross ARRAY_MAX into bitmaps, sparse ones stay arrays
+    @Test
+    void matchesATreeSet() {
+        Random r = new Random(1);
+        for (int round = 0; round < 10; round++) {
+            IdSet s = new IdSet(), s2 = new IdSet();
+            TreeSet<Integer> t = new TreeSet<>(), t2 = new TreeSet<>();
+            int range = round % 2 == 0 ? 20_000 : 400_000;
+            for (int i = 0; i < 30_000; i++) {
+                int x = r.nextInt(range);
+                if (r.nextInt(4) == 0) assertEquals(t.remove(x), s.remove(x));
+                else assertEquals(t.add(x), s.add(x));
+                int y = r.nextInt(range);
+                s2.add(y);
+                t2.add(y);
+            }
+            assertEquals(t.size(), s.size());
+            assertArrayEquals(t.stream().mapToInt(Integer::intValue).toArray(), s.toArray());
+            t.retainAll(t2);
+            assertArrayEquals(t.stream().mapToInt(Integer::intValue).toArray(), s.and(s2).toArray());
+        }
+    }
+}
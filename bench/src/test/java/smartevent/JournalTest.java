@@ -0,0 +1,112 @@
+package smartevent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import smartevent.SmartEventOrganizerSwing.Event;
+import smartevent.SmartEventOrganizerSwing.Journal;
+import smartevent.SmartEventOrganizerSwing.Result;
+import smartevent.SmartEventOrganizerSwing.User;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JournalTest {
+
+    @TempDir
+    Path dir;
+
+    @AfterEach
+    void closeJournal() {
+        if (SmartEventOrganizerSwing.journal != null && !SmartEventOrganizerSwing.journal.failed()) {
+            SmartEventOrganizerSwing.journal.close();
+        }
+        BenchData.reset();
+    }
+
+    @Test
+    void mutationsAreOnDiskWhenTheyReturnAndSurviveRestart() throws IOException {
+        BenchData.reset();
+        SmartEventOrganizerSwing.journal = Journal.open(dir);
+        User u = new User("ann", "pw", "Student", "Ann Lee", "CSE");
+        SmartEventOrganizerSwing.addUser(u);
+        Event ev = new Event("Fest", "Main Hall", BenchData.FIRST_DAY, 600, 720, 10);
+        SmartEventOrganizerSwing.addEvent(ev);
+        assertTrue(SmartEventOrganizerSwing.register(ev, u));
+        assertTrue(SmartEventOrganizerSwing.journal.flushed().isDone(), "register returned before its sync");
+        SmartEventOrganizerSwing.publishResults(List.of(new Result("Fest", "Ann Lee", "CSE", "1st")));
+        SmartEventOrganizerSwing.journal.close();
+
+        BenchData.reset();
+        SmartEventOrganizerSwing.journal = Journal.open(dir);
+        assertEquals(1, SmartEventOrganizerSwing.users.size());
+        Event back = SmartEventOrganizerSwing.events.get(0);
+        assertEquals(1, back.bookedSeats);
+        assertEquals(720, back.endMinute);
+        assertTrue(SmartEventOrganizerSwing.registrations.isRegistered(0, 0));
+        assertEquals("Ann Lee", SmartEventOrganizerSwing.results.forEvent("Fest").get(0).studentName);
+    }
+
+    @Test
+    void logIsCompactedWhileChangesGoOn() throws Exception {
+        BenchData.reset();
+        SmartEventOrganizerSwing.journal = Journal.open(dir, 50);
+        Event ev = new Event("Fest", "Main Hall", BenchData.FIRST_DAY, 1000);
+        SmartEventOrganizerSwing.addEvent(ev);
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            int from = t * 250;
+            writers[t] = new Thread(() -> {
+                for (int i = from; i < from + 250; i++) {
+                    User u = new User("stu" + i, "pw", "Student", "Student " + i, "CSE");
+                    SmartEventOrganizerSwing.addUser(u);
+                    SmartEventOrganizerSwing.register(ev, u);
+                    SmartEventOrganizerSwing.publishResult(new Result("Fest", u.fullName, "CSE", "Participation"));
+                }
+            });
+            writers[t].start();
+        }
+        for (Thread w : writers) w.join();
+        SmartEventOrganizerSwing.journal.close();
+        assertTrue(Files.exists(dir.resolve("state.snap")));
+        assertTrue(Files.size(dir.resolve("journal.log")) < 50_000, "log was not rotated");
+
+        BenchData.reset();
+        SmartEventOrganizerSwing.journal = Journal.open(dir);
+        assertEquals(1000, SmartEventOrganizerSwing.users.size());
+        assertEquals(1000, SmartEventOrganizerSwing.events.get(0).bookedSeats);
+        assertEquals(1000, SmartEventOrganizerSwing.registrations.attendees(0).length);
+        assertEquals(1000, SmartEventOrganizerSwing.results.size());
+    }
+
+    @Test
+    void writeFailureStopsTheJournalButKeepsTheChange() throws Exception {
+        BenchData.reset();
+        Journal j = Journal.open(dir);
+        SmartEventOrganizerSwing.journal = j;
+        Field log = Journal.class.getDeclaredField("log");
+        log.setAccessible(true);
+        ((FileChannel) log.get(j)).close();
+
+        // the change is applied in memory, so the caller sees it succeed
+        assertTrue(SmartEventOrganizerSwing.addUser(new User("bob", "pw", "Student")));
+        assertTrue(j.failed());
+        assertTrue(SmartEventOrganizerSwing.users.exists("bob"));
+        // later changes don't queue behind a dead writer
+        assertTrue(SmartEventOrganizerSwing.addUser(new User("cy", "pw", "Student")));
+        assertTrue(SmartEventOrganizerSwing.durable().isDone());
+    }
+
+    @Test
+    void replayRestoresEveryOperation() throws IOException {
+        JournalReplay.Timing t = JournalReplay.run(50_000, dir);
+        assertEquals(40_000, t.registrations());
+        assertEquals(50_000 - 5_000 - JournalReplay.EVENTS - 40_000, t.results());
+    }
+}
@@ -0,0 +1,44 @@
+package smartevent;
+
+import org.junit.jupiter.api.Test;
+import smartevent.SmartEventOrganizerSwing.Event;
+import smartevent.SmartEventOrganizerSwing.NotificationCenter;
+import smartevent.SmartEventOrganizerSwing.User;
+
+import javax.swing.SwingUtilities;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Headless, so nothing is shown and every notice stays queued
+class NotificationCenterTest {
+
+    @Test
+    void noticesForOneStudentMerge() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            NotificationCenter nc = new NotificationCenter();
+            User sam = student("sam");
+            for (int i = 0; i < 5; i++) nc.post(event("E" + i), sam, false);
+            assertEquals(1, nc.queued());
+            nc.post(event("W"), sam, true); // a waitlist promotion is a separate notice
+            assertEquals(2, nc.queued());
+        });
+    }
+
+    @Test
+    void queueIsCappedWithOneOverflowNotice() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            NotificationCenter nc = new NotificationCenter();
+            for (int i = 0; i < 500; i++) nc.post(event("E"), student("u" + i), false);
+            assertEquals(NotificationCenter.MAX_QUEUED + 1, nc.queued());
+        });
+    }
+
+    private static User student(String name) {
+        return new User(name, "pw", "Student", name, "CSE");
+    }
+
+    private static Event event(String name) {
+        return new Event(name, "Hall", LocalDate.now().plusDays(1), 10);
+    }
+}
@@ -0,0 +1,26 @@
+package smartevent;
+
+import org.junit.jupiter.api.Test;
+import smartevent.SmartEventOrganizerSwing.RegistrationLedger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RegistrationLedgerTest {
+
+    @Test
+    void viewsAreSharedUntilTheEventChanges() {
+        RegistrationLedger ledger = new RegistrationLedger();
+        ledger.add(3, 7);
+        ledger.add(3, 9);
+        int[] first = ledger.view(3);
+        assertArrayEquals(new int[]{7, 9}, first);
+        assertSame(first, ledger.view(3));
+        assertEquals(0, ledger.view(40).length); // no such event yet
+
+        ledger.add(0, 7); // another event's change keeps this view
+        assertSame(first, ledger.view(3));
+        ledger.remove(3, 7);
+        assertArrayEquals(new int[]{9}, ledger.view(3));
+        assertArrayEquals(new int[]{7, 9}, first);
+    }
+}
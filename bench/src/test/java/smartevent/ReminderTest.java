@@ -0,0 +1,76 @@
+package smartevent;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import smartevent.SmartEventOrganizerSwing.Event;
+import smartevent.SmartEventOrganizerSwing.Journal;
+import smartevent.SmartEventOrganizerSwing.Reminder;
+import smartevent.SmartEventOrganizerSwing.User;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReminderTest {
+
+    @TempDir
+    Path dir;
+
+    Event ev;
+    User ann;
+
+    @BeforeEach
+    void open() throws IOException {
+        BenchData.reset();
+        SmartEventOrganizerSwing.journal = Journal.open(dir);
+        ann = new User("ann", "pw", "Student", "Ann Lee", "CSE");
+        SmartEventOrganizerSwing.addUser(ann);
+        ev = new Event("Fest", "Main Hall", BenchData.FIRST_DAY.plusYears(50), 10);
+        SmartEventOrganizerSwing.addEvent(ev);
+    }
+
+    @AfterEach
+    void close() {
+        SmartEventOrganizerSwing.journal.close();
+        BenchData.reset();
+    }
+
+    @Test
+    void unregisterDropsTheReminderAcrossRestart() throws IOException {
+        assertTrue(SmartEventOrganizerSwing.register(ev, ann));
+        assertNotNull(SmartEventOrganizerSwing.scheduleReminder(ev, ann, System.currentTimeMillis() + 60_000));
+        assertEquals(1, SmartEventOrganizerSwing.reminders.pending());
+        assertTrue(SmartEventOrganizerSwing.unregister(ev, ann));
+        assertEquals(0, SmartEventOrganizerSwing.reminders.pending());
+
+        reopen();
+        assertEquals(0, SmartEventOrganizerSwing.reminders.pending());
+    }
+
+    @Test
+    void aNewReminderReplacesTheOldOne() throws IOException {
+        assertTrue(SmartEventOrganizerSwing.register(ev, ann));
+        SmartEventOrganizerSwing.scheduleReminder(ev, ann, System.currentTimeMillis() + 60_000);
+        Reminder later = SmartEventOrganizerSwing.scheduleReminder(ev, ann, System.currentTimeMillis() + 120_000);
+        assertEquals(1, SmartEventOrganizerSwing.reminders.pending());
+
+        reopen();
+        assertEquals(later.id, SmartEventOrganizerSwing.reminders.pendingList().get(0).id);
+        assertEquals(1, SmartEventOrganizerSwing.reminders.pending());
+    }
+
+    @Test
+    void noReminderWithoutARegistration() {
+        assertNull(SmartEventOrganizerSwing.scheduleReminder(ev, ann, System.currentTimeMillis() + 60_000));
+        assertEquals(0, SmartEventOrganizerSwing.reminders.pending());
+    }
+
+    private void reopen() throws IOException {
+        SmartEventOrganizerSwing.journal.close();
+        BenchData.reset();
+        SmartEventOrganizerSwing.journal = Journal.open(dir);
+    }
+}
@@ -0,0 +1,68 @@
+package smartevent;
+
+import org.junit.jupiter.api.Test;
+import smartevent.SmartEventOrganizerSwing.Reminder;
+import smartevent.SmartEventOrganizerSwing.ReminderWheel;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReminderWheelTest {
+
+    static final long NOW = 1_700_000_000_000L;
+
+    @Test
+    void everyReminderFiresOnItsOwnTick() {
+        ReminderWheel w = new ReminderWheel(NOW);
+        Random rnd = new Random(1);
+        for (int i = 0; i < 5000; i++) {
+            // up to ~58 days out, so reminders cascade down from the upper levels
+            w.schedule(new Reminder(i + 1, i, "u", NOW + (long) (rnd.nextDouble() * 5e6) * 1000));
+        }
+        int fired = 0;
+        for (long clock = NOW; w.pending() > 0; ) {
+            clock += 1000;
+            for (Reminder r : w.advance(clock)) {
+                assertEquals(clock / 1000, r.dueMillis / 1000, "reminder " + r.id);
+                fired++;
+            }
+        }
+        assertEquals(5000, fired);
+    }
+
+    @Test
+    void cancelledRemindersNeverFire() {
+        ReminderWheel w = new ReminderWheel(NOW);
+        for (int i = 0; i < 1000; i++) w.schedule(new Reminder(i + 1, i, "u", NOW + i * 3_600_000L));
+        for (int i = 0; i < 1000; i += 10) assertTrue(w.cancel(i + 1));
+        assertFalse(w.cancel(1));
+        Set<Long> fired = new HashSet<>();
+        for (Reminder r : w.advance(NOW + 1000 * 3_600_000L)) fired.add(r.id);
+        assertEquals(900, fired.size());
+        for (int i = 0; i < 1000; i += 10) assertFalse(fired.contains(i + 1L));
+    }
+
+    @Test
+    void overdueRemindersFireOnTheNextTick() {
+        ReminderWheel w = new ReminderWheel(NOW);
+        w.schedule(new Reminder(1, 0, "u", NOW - 100_000));
+        assertEquals(1, w.advance(NOW + 1000).size());
+    }
+
+    @Test
+    void oneReminderPerStudentAndEvent() {
+        ReminderWheel w = new ReminderWheel(NOW);
+        w.schedule(new Reminder(1, 7, "ann", NOW + 5000));
+        w.schedule(new Reminder(2, 7, "ann", NOW + 9000));
+        w.schedule(new Reminder(3, 7, "bob", NOW + 5000));
+        assertEquals(2, w.pending());
+        assertEquals(2, w.cancel(7, "ann").id);
+        assertNull(w.cancel(7, "ann"));
+        List<Reminder> due = w.advance(NOW + 60_000);
+        assertEquals(List.of(3L), due.stream().map(r -> r.id).toList());
+    }
+}
@@ -0,0 +1,61 @@
+package smartevent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smartevent.SmartEventOrganizerSwing.Event;
+import smartevent.SmartEventOrganizerSwing.ReportEngine;
+import smartevent.SmartEventOrganizerSwing.ReportEngine.Kind;
+import smartevent.SmartEventOrganizerSwing.ReportEngine.Totals;
+import smartevent.SmartEventOrganizerSwing.Result;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReportEngineTest {
+
+    @BeforeEach
+    void seed() {
+        BenchData.reset();
+        BenchData.seedUsers(20);
+        for (int i = 0; i < 5; i++) {
+            SmartEventOrganizerSwing.events.add(new Event("E" + i, "Hall", LocalDate.of(2025, 1 + i % 2, 3), 10));
+        }
+        for (int i = 0; i < 20; i++) {
+            SmartEventOrganizerSwing.register(SmartEventOrganizerSwing.events.get(i % 5), SmartEventOrganizerSwing.users.get(i + 1));
+        }
+        String[] positions = {"1st", "2nd", "3rd", "Participation"};
+        for (int i = 0; i < 1000; i++) {
+            SmartEventOrganizerSwing.results.add(new Result(i % 7 == 6 ? "Ghost" : "E" + (i % 7 % 5), "S" + i,
+                    i % 2 == 0 ? "CSE" : "IT", positions[i % 4]));
+        }
+    }
+
+    @Test
+    void tallies() throws IOException {
+        Totals t = ReportEngine.aggregate();
+        assertEquals(142, t.results().unmatched); // every seventh result names no event
+        String departments = write(Kind.DEPARTMENTS, t);
+        assertTrue(departments.contains("\nCSE,500,"), departments);
+        assertTrue(departments.contains("\nIT,500,"), departments);
+        String months = write(Kind.MONTHS, t);
+        assertTrue(months.contains("\n2025-01,3,30,12,0.400,"), months);
+        assertTrue(months.contains("\n2025-02,2,20,8,0.400,"), months);
+    }
+
+    @Test
+    void rowsComeFromTheAggregatedSnapshot() throws IOException {
+        Totals t = ReportEngine.aggregate();
+        SmartEventOrganizerSwing.events.add(new Event("Late", "Hall", LocalDate.of(2025, 3, 1), 10));
+        assertEquals(6, write(Kind.EVENTS, t).lines().count()); // header and the five aggregated events
+        assertFalse(write(Kind.MONTHS, t).contains("2025-03"));
+    }
+
+    private static String write(Kind kind, Totals t) throws IOException {
+        StringWriter w = new StringWriter();
+        ReportEngine.write(kind, t, w);
+        return w.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package smartevent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smartevent.SmartEventOrganizerSwing.Result;
+import smartevent.SmartEventOrganizerSwing.ResultBatch;
+import smartevent.SmartEventOrganizerSwing.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultBatchTest {
+
+    @BeforeEach
+    void seed() {
+        BenchData.reset();
+        SmartEventOrganizerSwing.users.add(new User("ann", "p", "Student", "Ann Lee", "CSE"));
+        SmartEventOrganizerSwing.users.add(new User("bob", "p", "Student", "Bob Roy", "ECE"));
+        SmartEventOrganizerSwing.users.add(new User("cy", "p", "Student", "", ""));
+        SmartEventOrganizerSwing.users.add(new User("fac", "p", "Faculty", "Fac", "MECH"));
+        SmartEventOrganizerSwing.users.add(new User("ozge", "p", "Student", "ÖZGE ŞEN", "IT"));
+        SmartEventOrganizerSwing.users.add(new User("kim1", "p", "Student", "Kim Park", "CSE"));
+        SmartEventOrganizerSwing.users.add(new User("kim2", "p", "Student", "Kim Park", "ECE"));
+        SmartEventOrganizerSwing.publishResult(new Result("Fest", "Zed", "CSE", "1st"));
+    }
+
+    @Test
+    void cleanSheetMatchesNamesAndUsernamesInAnyCase() {
+        ResultBatch b = ResultBatch.parse("Fest", "Student,Department,Position\nann lee,cse,2nd\nbob,ECE,Participation\ncy,MECH,3rd\n");
+        assertTrue(b.ok(), b.summary());
+        assertEquals(List.of("Ann Lee|CSE|2nd", "Bob Roy|ECE|Participation", "cy|MECH|3rd"), rows(b));
+    }
+
+    @Test
+    void nonAsciiNamesMatchCaseInsensitively() {
+        ResultBatch b = ResultBatch.parse("Fest", "özge şen,IT,2nd");
+        assertTrue(b.ok(), b.summary());
+        assertEquals("ÖZGE ŞEN", b.rows.get(0).studentName);
+    }
+
+    @Test
+    void sharedNamesAreResolvedByDepartment() {
+        assertEquals(List.of("Kim Park|ECE|2nd"), rows(ResultBatch.parse("Fest", "Kim Park,ECE,2nd")));
+        assertEquals(List.of("Kim Park|CSE|3rd"), rows(ResultBatch.parse("Fest", "kim park,CSE,3rd")));
+    }
+
+    @Test
+    void everyProblemIsReportedAndNothingPasses() {
+        ResultBatch b = ResultBatch.parse("Fest", "nobody,CSE,3rd\nann,CSE,1st\nbob roy,CSE,5th\ncy,XYZ,6th\nbad line\n  ,CSE,4th\nfac,MECH,7th\nann,CSE,2nd\nann,CSE,8th\n");
+        assertFalse(b.ok());
+        assertEquals(List.of(
+                "Line 1: unknown student \"nobody\"",
+                "Line 2: 1st is already taken by Zed (published)",
+                "Line 3: bob roy is in ECE, not CSE",
+                "Line 4: unknown department \"XYZ\"",
+                "Line 5: expected student,department,position",
+                "Line 6: student, department and position are all required",
+                "Line 7: unknown student \"fac\"",
+                "Line 8: Ann Lee already has a result for Fest",
+                "Line 9: Ann Lee already has a result for Fest"), b.errors);
+    }
+
+    @Test
+    void onlyAnExactFirstLineIsAHeader() {
+        assertTrue(ResultBatch.isHeader(" Student , DEPARTMENT,position"));
+        assertFalse(ResultBatch.isHeader("student,CSE,1st"));
+        SmartEventOrganizerSwing.users.add(new User("student", "p", "Student", "", "CSE"));
+        assertEquals(1, ResultBatch.parse("Fest", "student,CSE,2nd").rows.size());
+    }
+
+    private static List<String> rows(ResultBatch b) {
+        return b.rows.stream().map(r -> r.studentName + "|" + r.department + "|" + r.position).toList();
+    }
+}
@@ -0,0 +1,56 @@
+package smartevent;
+
+import org.junit.jupiter.api.Test;
+import smartevent.SmartEventOrganizerSwing.Result;
+import smartevent.SmartEventOrganizerSwing.ResultStore;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResultStoreTest {
+
+    @Test
+    void eventRowsAreInPlacingOrder() {
+        ResultStore s = new ResultStore();
+        String[] positions = {"Participation", "3rd", "1st", "2nd", "1st", "10th"};
+        for (int i = 0; i < 6; i++) s.add(new Result("E", "S" + i, i % 2 == 0 ? "CSE" : "ECE", positions[i]));
+        s.add(new Result("F", "Z", "IT", "1st"));
+        assertEquals(List.of("S2:1st", "S4:1st", "S3:2nd", "S1:3rd", "S5:10th", "S0:Participation"),
+                s.forEvent("E").stream().map(r -> r.studentName + ":" + r.position).toList());
+        assertTrue(s.forEvent("nope").isEmpty());
+        assertEquals(7, s.size());
+        assertArrayEquals(new int[]{2, 0, 0, 1}, s.departmentTallies().get("CSE")); // gold, silver, bronze, other
+    }
+
+    @Test
+    void batchesMatchRowByRowAndLeaveOldSnapshotsAlone() {
+        Random rnd = new Random(7);
+        String[] positions = {"1st", "2nd", "3rd", "4th", "Participation", "10th"};
+        ResultStore seq = new ResultStore(), bat = new ResultStore();
+        for (int round = 0; round < 300; round++) {
+            List<Result> batch = new ArrayList<>();
+            for (int i = rnd.nextInt(40); i > 0; i--) {
+                batch.add(new Result("E" + rnd.nextInt(90), "s" + rnd.nextInt(1000), "D" + rnd.nextInt(12), positions[rnd.nextInt(positions.length)]));
+            }
+            ResultStore.Snapshot before = bat.snapshot();
+            int size = before.size();
+            for (Result r : batch) seq.add(r);
+            bat.addAll(batch);
+            assertEquals(size, before.size());
+        }
+        for (int e = 0; e < 90; e++) {
+            assertEquals(rows(seq.forEvent("E" + e)), rows(bat.forEvent("E" + e)));
+        }
+        Map<String, int[]> a = seq.departmentTallies(), b = bat.departmentTallies();
+        assertEquals(a.keySet(), b.keySet());
+        for (String d : a.keySet()) assertArrayEquals(a.get(d), b.get(d));
+    }
+
+    private static List<String> rows(List<Result> rs) {
+        return rs.stream().map(r -> r.studentName + "|" + r.department + "|" + r.position).toList();
+    }
+}
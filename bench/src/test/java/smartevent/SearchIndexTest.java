@@ -0,0 +1,93 @@
+package smartevent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import smartevent.SmartEventOrganizerSwing.Event;
+import smartevent.SmartEventOrganizerSwing.SearchIndex;
+import smartevent.SmartEventOrganizerSwing.SearchIndex.Hit;
+import smartevent.SmartEventOrganizerSwing.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+
+    @BeforeEach
+    void reset() {
+        BenchData.reset();
+    }
+
+    @Test
+    void shortCompletionAfterManyLongerOnesRanksFirst() {
+        for (int i = 0; i < 6000; i++) event("aa" + (10_000 + i), "Hall");
+        event("az", "Hall");
+        List<Hit> hits = index().search("a", 5, true);
+        assertEquals("az", hits.get(0).event().name);
+        assertEquals(5, hits.size());
+    }
+
+    @Test
+    void scoresCombineFieldWeightAndCompletionLength() {
+        event("Tech Symposium", "Auditorium");
+        event("Technology Fair", "Main Hall");
+        event("Quiz", "Tech Park"); // an exact location word beats a long name completion
+        List<Hit> hits = index().search("tech", 10, true);
+        assertEquals(List.of("Tech Symposium", "Quiz", "Technology Fair"), hits.stream().map(h -> h.event().name).toList());
+    }
+
+    @Test
+    void extraWordsFilterAndUsersCanBeExcluded() {
+        event("AI Workshop", "Innovation Lab");
+        event("AI Talk", "Seminar Room");
+        SmartEventOrganizerSwing.users.add(new User("ainsley", "pw", "Student", "Ainsley Ray", "CSE"));
+        SearchIndex ix = index();
+        assertEquals(List.of("AI Workshop"), ix.search("ai lab", 10, false).stream().map(h -> h.event().name).toList());
+        assertTrue(ix.search("ai zzz", 10, false).isEmpty());
+        assertEquals(3, ix.search("ai", 10, false).size());
+        assertEquals(2, ix.search("ai", 10, true).size());
+    }
+
+    @Test
+    void shortQueriesMatchTheFullRanking() {
+        for (int i = 0; i < 400; i++) event("Seminar " + i, i % 3 == 0 ? "Stage" : "Hall " + i);
+        for (int i = 0; i < 400; i++) SmartEventOrganizerSwing.users.add(new User("stu" + i, "pw", "Student", "Sam " + i, "CSE"));
+        SearchIndex ix = index();
+        for (String q : List.of("s", "st", "h", "c")) {
+            for (boolean eventsOnly : List.of(true, false)) {
+                // more hits than the kept postings can hold, so this one ranks every match
+                List<Hit> all = ix.search(q, 10_000, eventsOnly);
+                List<Hit> top = ix.search(q, 50, eventsOnly);
+                assertEquals(all.subList(0, Math.min(50, all.size())), top, q);
+            }
+        }
+    }
+
+    @Test
+    void searchWhileUsersAreAdded() throws Exception {
+        SmartEventOrganizerSwing.users.add(new User("admin", "admin", "Admin"));
+        Thread writer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                SmartEventOrganizerSwing.addUser(new User("stu" + i, "pw", "Student", "Student " + i, "CSE"));
+            }
+        });
+        writer.start();
+        int last = 0;
+        while (writer.isAlive()) {
+            int n = SmartEventOrganizerSwing.searchIndex.search("cse", 30_000, false).size();
+            assertTrue(n >= last, "hits went back from " + last + " to " + n);
+            last = n;
+        }
+        writer.join();
+        assertEquals(20_000, SmartEventOrganizerSwing.searchIndex.search("cse", 30_000, false).size());
+    }
+
+    private static void event(String name, String location) {
+        SmartEventOrganizerSwing.events.add(new Event(name, location, BenchData.FIRST_DAY, 10));
+    }
+
+    private static SearchIndex index() {
+        SmartEventOrganizerSwing.searchIndex.rebuild();
+        return SmartEventOrganizerSwing.searchIndex;
+    }
+}
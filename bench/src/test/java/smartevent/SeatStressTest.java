@@ -0,0 +1,18 @@
+package smartevent;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SeatStressTest {
+
+    @Test
+    void bookedSeatsMatchSuccessfulReservesUnderContention() throws InterruptedException {
+        SeatStress.Outcome o = SeatStress.run(2_000, 32, 25);
+        assertEquals(o.registered(), o.booked(), "register/unregister");
+        assertEquals(o.registered(), o.attendees(), "ledger");
+        assertEquals(o.groupSeats(), o.groupBooked(), "reserve(n)/cancel(n)");
+        assertTrue(o.maxBooked() <= 25, "oversold: " + o.maxBooked());
+    }
+}
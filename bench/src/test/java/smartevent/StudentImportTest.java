@@ -0,0 +1,52 @@
+package smartevent;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import smartevent.SmartEventOrganizerSwing.StudentImport;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudentImportTest {
+
+    @TempDir
+    Path dir;
+
+    @BeforeEach
+    void reset() {
+        BenchData.reset();
+    }
+
+    @Test
+    void onlyTheExactColumnNamesAreAHeader() {
+        assertTrue(StudentImport.isHeader("username,password,full name,department"));
+        assertTrue(StudentImport.isHeader(" Username , PASSWORD,Full Name,Department"));
+        assertFalse(StudentImport.isHeader("usernameA,pw,Ann Lee,CSE"));
+        assertFalse(StudentImport.isHeader("username,password,full name"));
+    }
+
+    @Test
+    void firstRowThatLooksLikeAHeaderIsImported() throws Exception {
+        assertEquals(2, importFile("usernameA,pw,Ann Lee,CSE\nbob,pw,Bob Roy,ECE\n"));
+        assertNotNull(SmartEventOrganizerSwing.users.find("usernameA"));
+    }
+
+    @Test
+    void headerRowIsSkippedAndBadRowsCounted() throws Exception {
+        assertEquals(2, importFile("username,password,full name,department\nann,pw,Ann Lee,CSE\nbob,pw,Bob Roy,ECE\nbroken\nann,pw,Again,CSE\n"));
+        assertNull(SmartEventOrganizerSwing.users.find("username"));
+    }
+
+    private int importFile(String csv) throws Exception {
+        Path file = dir.resolve("students.csv");
+        Files.writeString(file, csv, StandardCharsets.UTF_8);
+        StudentImport task = new StudentImport(file.toFile());
+        task.execute();
+        task.get();
+        return SmartEventOrganizerSwing.users.size();
+    }
+}
@@ -0,0 +1,109 @@
+package smartevent;
+
+import org.junit.jupiter.api.Test;
+import smartevent.SmartEventOrganizerSwing.Event;
+import smartevent.SmartEventOrganizerSwing.User;
+import smartevent.SmartEventOrganizerSwing.Waitlist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WaitlistTest {
+
+    @Test
+    void seatsAndQueuesStayConsistentUnderContention() throws Exception {
+        BenchData.reset();
+        int events = 50, students = 1000;
+        BenchData.seedUsers(students);
+        BenchData.seedEvents(events, 5);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> done = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int seed = t;
+            done.add(pool.submit(() -> {
+                Random r = new Random(seed);
+                for (int k = 0; k < 20_000; k++) {
+                    Event ev = SmartEventOrganizerSwing.events.get(r.nextInt(events));
+                    User u = SmartEventOrganizerSwing.users.get(1 + r.nextInt(students));
+                    switch (r.nextInt(10)) {
+                        case 0, 1, 2 -> {
+                            if (!SmartEventOrganizerSwing.register(ev, u)) SmartEventOrganizerSwing.joinWaitlist(ev, u);
+                        }
+                        case 3, 4, 5 -> SmartEventOrganizerSwing.unregister(ev, u);
+                        case 6 -> SmartEventOrganizerSwing.leaveWaitlist(ev, u);
+                        case 7, 8 -> SmartEventOrganizerSwing.joinWaitlist(ev, u);
+                        default -> SmartEventOrganizerSwing.setTotalSeats(ev, Math.max(ev.bookedSeats, 2 + r.nextInt(8)));
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> f : done) f.get();
+        pool.shutdown();
+
+        long registered = 0, waiting = 0;
+        for (int e = 0; e < events; e++) {
+            Event ev = SmartEventOrganizerSwing.events.get(e);
+            int[] attendees = SmartEventOrganizerSwing.registrations.attendees(e);
+            int[] queue = SmartEventOrganizerSwing.waitlist.waiting(e);
+            assertEquals(ev.bookedSeats, attendees.length);
+            assertTrue(ev.bookedSeats <= ev.totalSeats);
+            assertFalse(queue.length > 0 && ev.freeSeats() > 0, "a seat is free while students wait");
+            HashSet<Integer> in = new HashSet<>();
+            for (int id : attendees) in.add(id);
+            for (int id : queue) assertFalse(in.contains(id), "registered and waiting");
+            registered += attendees.length;
+            waiting += queue.length;
+        }
+        assertEquals(registered, SmartEventOrganizerSwing.registrations.total());
+        assertEquals(waiting, SmartEventOrganizerSwing.waitlist.total());
+    }
+
+    @Test
+    void positionsAndStudentIndexMatchPlainQueues() {
+        Waitlist w = new Waitlist();
+        List<LinkedHashSet<Integer>> queues = new ArrayList<>();
+        for (int e = 0; e < 5; e++) queues.add(new LinkedHashSet<>());
+        Random r = new Random(3);
+        for (int k = 0; k < 50_000; k++) {
+            int e = r.nextInt(5), s = r.nextInt(300);
+            LinkedHashSet<Integer> q = queues.get(e);
+            switch (r.nextInt(3)) {
+                case 0 -> assertEquals(q.add(s), w.add(e, s));
+                case 1 -> assertEquals(q.remove(s), w.remove(e, s));
+                default -> {
+                    int head = q.isEmpty() ? -1 : q.iterator().next();
+                    q.remove(head);
+                    assertEquals(head, w.poll(e));
+                }
+            }
+            int place = 0, i = 0;
+            for (int id : q) {
+                i++;
+                if (id == s) place = i;
+            }
+            assertEquals(place, w.position(e, s));
+        }
+        for (int e = 0; e < 5; e++) {
+            assertArrayEquals(queues.get(e).stream().mapToInt(Integer::intValue).toArray(), w.waiting(e));
+        }
+        for (int s = 0; s < 300; s++) {
+            int student = s;
+            int[] expected = new int[5];
+            int n = 0;
+            for (int e = 0; e < 5; e++) if (queues.get(e).contains(student)) expected[n++] = e;
+            int[] actual = w.eventsOf(student).clone();
+            Arrays.sort(actual);
+            assertArrayEquals(Arrays.copyOf(expected, n), actual);
+        }
+    }
+}
@@ -1,23 +1,102 @@
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
 import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.event.TableModelListener;
+import javax.swing.table.AbstractTableModel;
 import java.awt.*;
 import java.awt.event.*;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.*;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.YearMonth;
+import java.time.format.TextStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.IntSupplier;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * SmartEventOrganizerSwing
  * - Single-file Swing app (Admin creates student accounts).
  * - Event-based result publishing and viewing.
- * - 5-second reminder popup after registering for an event.
+ * - Event reminders (24h / 1h before, or in 5 seconds) after registering; they survive restarts.
+ * - Accounts, events, registrations and results are saved under ./smartevent-data.
  *
  * Usage:
  *  javac SmartEventOrganizerSwing.java
  *  java SmartEventOrganizerSwing
+ *  java SmartEventOrganizerSwing --server [port]   (headless HTTP API, see ApiServer)
  */
 public class SmartEventOrganizerSwing {
 
     // -------------------- Data models --------------------
     static class User {
+        int id = -1; // position in the user store, assigned on add
         String username;
         String password;
         String role; // "Admin", "Faculty", "Student"
@@ -47,66 +126,3893 @@ public class SmartEventOrganizerSwing {
     }
 
     static class Event {
+        // CAS on bookedSeats, so registrations from any thread can never oversell
+        private static final AtomicIntegerFieldUpdater<Event> BOOKED =
+                AtomicIntegerFieldUpdater.newUpdater(Event.class, "bookedSeats");
+
+        static final int DAY_MINUTES = 24 * 60;
+
+        int id = -1; // position in the event store, assigned on add
         String name;
         String location;
         LocalDate date;
-        int totalSeats;
-        int bookedSeats = 0;
+        int startMinute = 0;           // minutes after midnight
+        int endMinute = DAY_MINUTES;   // exclusive; events never run past midnight
+        volatile int totalSeats;
+        volatile int bookedSeats = 0;
+
+        // Untimed (as events were before start/end existed): books the venue all day
+        Event(String name, String location, LocalDate date, int totalSeats) {
+            this(name, location, date, 0, DAY_MINUTES, totalSeats);
+        }
+
+        Event(String name, String location, LocalDate date, int startMinute, int endMinute, int totalSeats) {
+            if (startMinute < 0 || endMinute > DAY_MINUTES || startMinute >= endMinute) {
+                throw new IllegalArgumentException("End time must be after start time on the same day");
+            }
+            this.name = name;
+            this.location = location;
+            this.date = date;
+            this.startMinute = startMinute;
+            this.endMinute = endMinute;
+            this.totalSeats = totalSeats;
+        }
+
+        String times() {
+            return startMinute == 0 && endMinute == DAY_MINUTES ? "all day" : clock(startMinute) + "-" + clock(endMinute);
+        }
+
+        static String clock(int minute) {
+            return String.format("%02d:%02d", minute / 60, minute % 60);
+        }
+
+        boolean reserve() {
+            return reserve(1);
+        }
+
+        // All-or-nothing: books n seats in one step, or none if fewer than n are free
+        boolean reserve(int n) {
+            if (n <= 0) return false;
+            while (true) {
+                int booked = bookedSeats;
+                if (booked + n > totalSeats) return false;
+                if (BOOKED.compareAndSet(this, booked, booked + n)) return true;
+            }
+        }
+
+        boolean cancel() {
+            return cancel(1);
+        }
+
+        // Releases n seats; fails without changing anything if fewer than n are booked
+        boolean cancel(int n) {
+            if (n <= 0) return false;
+            while (true) {
+                int booked = bookedSeats;
+                if (booked < n) return false;
+                if (BOOKED.compareAndSet(this, booked, booked - n)) return true;
+            }
+        }
+
+        int freeSeats() {
+            return Math.max(0, totalSeats - bookedSeats);
+        }
+
+        @Override
+        public String toString() {
+            return name + " | " + date + " " + times() + " | " + location + " | Seats: " + bookedSeats + "/" + totalSeats;
+        }
+    }
+
+    static class Result {
+        String eventName;
+        String studentName;
+        String department;
+        String position; // e.g., "1st", "2nd", "Participation"
+
+        Result(String eventName, String studentName, String department, String position) {
+            this.eventName = eventName;
+            this.studentName = studentName;
+            this.department = department;
+            this.position = position;
+        }
+    }
+
+    // -------------------- Persistent lists --------------------
+    // Append-only list whose versions share chunks; a version reads only its first
+    // `size` slots, so it never changes once built. Stores publish them through a
+    // volatile field and readers take a snapshot without locking.
+    static final class SharedList<T> extends AbstractList<T> implements RandomAccess {
+        static final int SHIFT = 10, CHUNK = 1 << SHIFT, MASK = CHUNK - 1;
+        private static final SharedList<Object> EMPTY = new SharedList<>(new Object[0][], 0);
+
+        private final Object[][] chunks;
+        private final int size;
+
+        private SharedList(Object[][] chunks, int size) {
+            this.chunks = chunks;
+            this.size = size;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> SharedList<T> empty() {
+            return (SharedList<T>) EMPTY;
+        }
+
+        // This list plus value; this list itself is unchanged. Not for concurrent writers.
+        SharedList<T> append(T value) {
+            Objects.requireNonNull(value);
+            int c = size >>> SHIFT, slot = size & MASK;
+            Object[][] dir = chunks;
+            if (c == dir.length) {
+                dir = Arrays.copyOf(dir, c + 1);
+                dir[c] = new Object[CHUNK];
+            } else if (dir[c][slot] != null) {
+                Object[] copy = new Object[CHUNK];
+                System.arraycopy(dir[c], 0, copy, 0, slot);
+                dir = dir.clone();
+                dir[c] = copy;
+            }
+            dir[c][slot] = value;
+            return new SharedList<>(dir, size + 1);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T get(int index) {
+            Objects.checkIndex(index, size);
+            return (T) chunks[index >>> SHIFT][index & MASK];
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    // -------------------- User store --------------------
+    // Users kept in creation order for listing, plus a username -> User hash index
+    // so login and duplicate-username checks are O(1) instead of a full scan.
+    // Result sheets match students and departments ignoring case through two more
+    // indexes kept up to date by add.
+    static class UserStore implements Iterable<User> {
+        private static final User[] NONE = new User[0];
+
+        private volatile SharedList<User> ordered = SharedList.empty();
+        private final ConcurrentHashMap<String, User> byUsername = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, User[]> studentsByKey = new ConcurrentHashMap<>(); // lower-cased full name or username
+        private final ConcurrentHashMap<String, String> departments = new ConcurrentHashMap<>(); // lower-cased -> as first stored
+
+        // Returns false (and stores nothing) if the username is already taken
+        boolean add(User u) {
+            if (byUsername.putIfAbsent(u.username, u) != null) return false;
+            u.id = ordered.size();
+            if (!u.department.isEmpty()) departments.putIfAbsent(u.department.toLowerCase(Locale.ROOT), u.department);
+            if (u.role.equals("Student")) {
+                String name = u.fullName.toLowerCase(Locale.ROOT), login = u.username.toLowerCase(Locale.ROOT);
+                if (!name.isEmpty()) studentsByKey.merge(name, new User[]{u}, UserStore::concat);
+                if (!login.equals(name)) studentsByKey.merge(login, new User[]{u}, UserStore::concat);
+            }
+            ordered = ordered.append(u);
+            return true;
+        }
+
+        private static User[] concat(User[] a, User[] b) {
+            User[] all = Arrays.copyOf(a, a.length + b.length);
+            System.arraycopy(b, 0, all, a.length, b.length);
+            return all;
+        }
+
+        // Students whose full name or username equals text ignoring case, oldest first
+        List<User> students(String text) {
+            return Arrays.asList(studentsByKey.getOrDefault(text.toLowerCase(Locale.ROOT), NONE));
+        }
+
+        // A user's department spelled as stored, or null if no user is in it
+        String department(String text) {
+            return departments.get(text.toLowerCase(Locale.ROOT));
+        }
+
+        // Every user as of now, unaffected by later adds
+        List<User> snapshot() {
+            return ordered;
+        }
+
+        boolean exists(String username) {
+            return byUsername.containsKey(username);
+        }
+
+        User get(int index) {
+            return ordered.get(index);
+        }
+
+        User find(String username) {
+            return byUsername.get(username);
+        }
+
+        // Username lookup through the index, then password and role checked on the single hit
+        User authenticate(String username, String password, String role) {
+            User u = byUsername.get(username);
+            if (u != null && u.password.equals(password) && u.role.equals(role)) return u;
+            return null;
+        }
+
+        int size() {
+            return ordered.size();
+        }
+
+        @Override
+        public Iterator<User> iterator() {
+            return ordered.iterator();
+        }
+    }
+
+    // -------------------- Event store --------------------
+    // Events in creation order, indexed by date for the calendar and per venue by
+    // start minute for conflict checks. Queries ignore index entries with ids past
+    // the list they read, so they never lock.
+    static class EventStore implements Iterable<Event> {
+        static final int OPENS = 8 * 60, CLOSES = 22 * 60; // bookable hours offered as free slots
+
+        record Slot(LocalDate date, int startMinute, int endMinute) {
+            @Override
+            public String toString() {
+                return date + " " + Event.clock(startMinute) + "-" + Event.clock(endMinute);
+            }
+        }
+
+        private static final Event[] NONE = new Event[0];
+
+        private volatile SharedList<Event> ordered = SharedList.empty();
+        private final ConcurrentSkipListMap<LocalDate, Event[]> byDate = new ConcurrentSkipListMap<>();
+        private final ConcurrentHashMap<String, ConcurrentSkipListMap<Long, Event[]>> byVenue = new ConcurrentHashMap<>();
+        private final ConcurrentSkipListMap<String, Event> venueNames = new ConcurrentSkipListMap<>(); // venue key -> first event there
+        private final ConcurrentHashMap<String, Event> byName = new ConcurrentHashMap<>(); // name -> first event with it
+
+        // Indexes first, then the new list version: a reader that can see the event sees all of it
+        void add(Event ev) {
+            SharedList<Event> list = ordered;
+            ev.id = list.size();
+            byDate.put(ev.date, plus(byDate.getOrDefault(ev.date, NONE), ev));
+            String venue = venueKey(ev.location);
+            venueNames.putIfAbsent(venue, ev);
+            byName.putIfAbsent(ev.name, ev);
+            ConcurrentSkipListMap<Long, Event[]> starts = byVenue.computeIfAbsent(venue, v -> new ConcurrentSkipListMap<>());
+            starts.put(start(ev), plus(starts.getOrDefault(start(ev), NONE), ev));
+            ordered = list.append(ev);
+        }
+
+        private static Event[] plus(Event[] same, Event ev) {
+            Event[] grown = Arrays.copyOf(same, same.length + 1);
+            grown[same.length] = ev;
+            return grown;
+        }
+
+        // How many of an index entry's events (held in id order) a reader that saw `known` events may use
+        private static int visible(Event[] same, int known) {
+            int n = same.length;
+            while (n > 0 && same[n - 1].id >= known) n--;
+            return n;
+        }
+
+        // Every event as of now, unaffected by later adds
+        List<Event> snapshot() {
+            return ordered;
+        }
+
+        // "Main Hall", "main hall " and "MAIN HALL" are the same room
+        static String venueKey(String location) {
+            return location.trim().toLowerCase(Locale.ROOT);
+        }
+
+        private static long start(Event ev) {
+            return ev.date.toEpochDay() * Event.DAY_MINUTES + ev.startMinute;
+        }
+
+        // Stored events at ev's venue whose times overlap it; back-to-back bookings don't clash
+        List<Event> conflicts(Event ev) {
+            int known = ordered.size();
+            ConcurrentSkipListMap<Long, Event[]> venue = byVenue.get(venueKey(ev.location));
+            if (venue == null) return Collections.emptyList();
+            long day = ev.date.toEpochDay() * Event.DAY_MINUTES;
+            ArrayList<Event> clashes = new ArrayList<>();
+            for (Event[] starting : venue.subMap(day, true, day + ev.endMinute, false).values()) {
+                for (int i = 0, n = visible(starting, known); i < n; i++) {
+                    Event other = starting[i];
+                    if (other != ev && other.endMinute > ev.startMinute) clashes.add(other);
+                }
+            }
+            return clashes;
+        }
+
+        // Gaps of at least minMinutes within bookable hours at a venue, day by day from `from`
+        List<Slot> freeSlots(String location, LocalDate from, int days, int minMinutes) {
+            int known = ordered.size();
+            ConcurrentSkipListMap<Long, Event[]> venue = byVenue.getOrDefault(venueKey(location), new ConcurrentSkipListMap<>());
+            ArrayList<Slot> slots = new ArrayList<>();
+            for (int i = 0; i < days; i++) {
+                LocalDate date = from.plusDays(i);
+                long day = date.toEpochDay() * Event.DAY_MINUTES;
+                int free = OPENS; // start of the current gap
+                for (Event[] starting : venue.subMap(day, true, day + CLOSES, false).values()) {
+                    for (int k = 0, n = visible(starting, known); k < n; k++) {
+                        Event ev = starting[k];
+                        if (ev.startMinute - free >= minMinutes) slots.add(new Slot(date, free, ev.startMinute));
+                        free = Math.max(free, ev.endMinute);
+                    }
+                }
+                if (CLOSES - free >= minMinutes) slots.add(new Slot(date, free, CLOSES));
+            }
+            return slots;
+        }
+
+        // Every venue seen so far, alphabetically, as first entered
+        List<String> venues() {
+            int known = ordered.size();
+            ArrayList<String> names = new ArrayList<>();
+            for (Event first : venueNames.values()) {
+                if (first.id < known) names.add(first.location.trim());
+            }
+            return names;
+        }
+
+        Event get(int index) {
+            return ordered.get(index);
+        }
+
+        boolean hasName(String name) {
+            Event first = byName.get(name);
+            return first != null && first.id < ordered.size();
+        }
+
+        int size() {
+            return ordered.size();
+        }
+
+        boolean isEmpty() {
+            return ordered.isEmpty();
+        }
+
+        Stream<Event> stream() {
+            return ordered.stream();
+        }
+
+        // Events on a single day, in the order they were added
+        List<Event> onDate(LocalDate date) {
+            int known = ordered.size();
+            Event[] same = byDate.getOrDefault(date, NONE);
+            return Collections.unmodifiableList(Arrays.asList(same).subList(0, visible(same, known)));
+        }
+
+        // counts[day] = number of events on that day of the month (index 0 unused)
+        int[] countsForMonth(YearMonth month) {
+            int known = ordered.size();
+            int[] counts = new int[month.lengthOfMonth() + 1];
+            for (Map.Entry<LocalDate, Event[]> en : byDate.subMap(month.atDay(1), true, month.atEndOfMonth(), true).entrySet()) {
+                counts[en.getKey().getDayOfMonth()] = visible(en.getValue(), known);
+            }
+            return counts;
+        }
+
+        @Override
+        public Iterator<Event> iterator() {
+            return ordered.iterator();
+        }
+    }
+
+    // -------------------- Result store --------------------
+    // Results as dictionary-encoded int columns, grouped per event in position
+    // order, with department medal tallies kept up to date. Each publish stores a
+    // new Snapshot; Result objects are built on demand.
+    static class ResultStore implements Iterable<Result> {
+        static final int GOLD = 0, SILVER = 1, BRONZE = 2, OTHER = 3;
+
+        // String <-> dense int code; every distinct value is stored once. A value is
+        // in the list before its code is in the map, so any code a reader finds resolves.
+        static class Dictionary {
+            private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+            private volatile SharedList<String> values = SharedList.empty();
+
+            int encode(String value) {
+                Integer code = codes.get(value);
+                if (code == null) {
+                    code = values.size();
+                    values = values.append(value);
+                    codes.put(value, code);
+                }
+                return code;
+            }
+
+            int code(String value) {
+                Integer code = codes.get(value);
+                return code == null ? -1 : code;
+            }
+
+            String value(int code) {
+                return values.get(code);
+            }
+
+            int size() {
+                return values.size();
+            }
+        }
+
+        private final Dictionary eventNames = new Dictionary();
+        private final Dictionary students = new Dictionary();
+        private final Dictionary departments = new Dictionary();
+        private final Dictionary positions = new Dictionary();
+        private int[] positionRanks = new int[16]; // position code -> rank(position)
+
+        // One entry per row, in publish order
+        private int[] eventCol = new int[1024];
+        private int[] studentCol = new int[1024];
+        private int[] departmentCol = new int[1024];
+        private int[] positionCol = new int[1024];
+        private int size;
+
+        // Event code -> row numbers sorted by rank, replaced (never edited) on publish
+        private AtomicReferenceArray<int[]> byEvent = new AtomicReferenceArray<>(64);
+        private int[][] tallies = new int[0][]; // department code -> {gold, silver, bronze, other}
+
+        private volatile Snapshot current = new Snapshot();
+
+        // The store as of one publish; nothing it can read changes afterwards
+        final class Snapshot implements Iterable<Result> {
+            private final int size = ResultStore.this.size;
+            private final int[] eventCol = ResultStore.this.eventCol;
+            private final int[] studentCol = ResultStore.this.studentCol;
+            private final int[] departmentCol = ResultStore.this.departmentCol;
+            private final int[] positionCol = ResultStore.this.positionCol;
+            private final int[] positionRanks = ResultStore.this.positionRanks;
+            private final AtomicReferenceArray<int[]> byEvent = ResultStore.this.byEvent;
+            private final int[][] tallies = ResultStore.this.tallies;
+
+            // Column access for scans (see ReportEngine); codes index the dictionaries
+            int eventCodeAt(int row) {
+                return eventCol[Objects.checkIndex(row, size)];
+            }
+
+            int departmentCodeAt(int row) {
+                return departmentCol[Objects.checkIndex(row, size)];
+            }
+
+            // GOLD, SILVER, BRONZE or OTHER
+            int medalAt(int row) {
+                return Math.min(positionRanks[positionCol[Objects.checkIndex(row, size)]], 4) - 1;
+            }
+
+            // Materialises one row; the strings are the dictionary's shared copies
+            Result get(int row) {
+                Objects.checkIndex(row, size);
+                return new Result(eventNames.value(eventCol[row]), students.value(studentCol[row]),
+                        departments.value(departmentCol[row]), positions.value(positionCol[row]));
+            }
+
+            // Results for one event, best position first
+            List<Result> forEvent(String eventName) {
+                int ev = eventNames.code(eventName);
+                int[] rows = ev < 0 || ev >= byEvent.length() ? null : byEvent.get(ev);
+                if (rows == null) return Collections.emptyList();
+                // the shared list may already hold rows published after this snapshot
+                int count = 0;
+                for (int row : rows) {
+                    if (row < size) count++;
+                }
+                if (count < rows.length) {
+                    int[] mine = new int[count];
+                    count = 0;
+                    for (int row : rows) {
+                        if (row < size) mine[count++] = row;
+                    }
+                    rows = mine;
+                }
+                int[] visible = rows;
+                return new AbstractList<>() {
+                    @Override
+                    public Result get(int i) {
+                        return Snapshot.this.get(visible[i]);
+                    }
+
+                    @Override
+                    public int size() {
+                        return visible.length;
+                    }
+                };
+            }
+
+            // Department -> {gold, silver, bronze, other}; ordering is left to the caller
+            Map<String, int[]> departmentTallies() {
+                HashMap<String, int[]> map = new HashMap<>();
+                for (int d = 0; d < tallies.length; d++) map.put(departments.value(d), tallies[d].clone());
+                return Collections.unmodifiableMap(map);
+            }
+
+            int size() {
+                return size;
+            }
+
+            @Override
+            public Iterator<Result> iterator() {
+                return new Iterator<>() {
+                    int row;
+
+                    @Override
+                    public boolean hasNext() {
+                        return row < size;
+                    }
+
+                    @Override
+                    public Result next() {
+                        if (row >= size) throw new NoSuchElementException();
+                        return get(row++);
+                    }
+                };
+            }
+        }
+
+        // Not for concurrent writers (see storeLock)
+        void add(Result r) {
+            int row = appendRow(r);
+            int ev = eventCol[row], dept = departmentCol[row], pos = positionCol[row];
+            int[] rows = byEvent.get(ev);
+            int count = rows == null ? 0 : rows.length;
+            // insert after every result with the same or better rank (keeps publish order for ties)
+            int rank = positionRanks[pos];
+            int lo = 0, hi = count;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (positionRanks[positionCol[rows[mid]]] <= rank) lo = mid + 1;
+                else hi = mid;
+            }
+            int[] next = new int[count + 1];
+            if (count > 0) {
+                System.arraycopy(rows, 0, next, 0, lo);
+                System.arraycopy(rows, lo, next, lo + 1, count - lo);
+            }
+            next[lo] = row;
+            byEvent.set(ev, next);
+
+            int[][] t = Arrays.copyOf(tallies, Math.max(tallies.length, dept + 1));
+            t[dept] = t[dept] == null ? new int[4] : t[dept].clone();
+            t[dept][Math.min(rank, 4) - 1]++;
+            tallies = t;
+
+            current = new Snapshot();
+        }
+
+        // One Snapshot for the whole batch; callers hold storeLock
+        void addAll(List<Result> batch) {
+            if (batch.isEmpty()) return;
+            int first = size;
+            for (Result r : batch) appendRow(r);
+
+            // new rows by event, then rank; ties keep batch order
+            Integer[] added = new Integer[size - first];
+            for (int i = 0; i < added.length; i++) added[i] = first + i;
+            Arrays.sort(added, (a, b) -> eventCol[a] != eventCol[b] ? Integer.compare(eventCol[a], eventCol[b])
+                    : Integer.compare(positionRanks[positionCol[a]], positionRanks[positionCol[b]]));
+            for (int from = 0; from < added.length; ) {
+                int ev = eventCol[added[from]];
+                int to = from;
+                while (to < added.length && eventCol[added[to]] == ev) to++;
+                int[] rows = byEvent.get(ev);
+                if (rows == null) rows = new int[0];
+                // merge: an existing row goes first on a tie, it was published earlier
+                int[] next = new int[rows.length + to - from];
+                int i = 0, j = from, k = 0;
+                while (i < rows.length || j < to) {
+                    if (j == to || (i < rows.length
+                            && positionRanks[positionCol[rows[i]]] <= positionRanks[positionCol[added[j]]])) {
+                        next[k++] = rows[i++];
+                    } else {
+                        next[k++] = added[j++];
+                    }
+                }
+                byEvent.set(ev, next);
+                from = to;
+            }
+
+            int[][] t = Arrays.copyOf(tallies, Math.max(tallies.length, departments.size()));
+            boolean[] copied = new boolean[t.length];
+            for (int row = first; row < size; row++) {
+                int dept = departmentCol[row];
+                if (!copied[dept]) {
+                    t[dept] = t[dept] == null ? new int[4] : t[dept].clone();
+                    copied[dept] = true;
+                }
+                t[dept][Math.min(positionRanks[positionCol[row]], 4) - 1]++;
+            }
+            tallies = t;
+
+            current = new Snapshot();
+        }
+
+        // Columns only; the caller updates the row lists and tallies
+        private int appendRow(Result r) {
+            int ev = eventNames.encode(r.eventName);
+            int dept = departments.encode(r.department);
+            int pos = positions.encode(r.position);
+            if (pos == positionRanks.length) positionRanks = Arrays.copyOf(positionRanks, pos * 2);
+            positionRanks[pos] = rank(r.position);
+
+            if (size == eventCol.length) {
+                int n = size * 2;
+                eventCol = Arrays.copyOf(eventCol, n);
+                studentCol = Arrays.copyOf(studentCol, n);
+                departmentCol = Arrays.copyOf(departmentCol, n);
+                positionCol = Arrays.copyOf(positionCol, n);
+            }
+            int row = size++;
+            eventCol[row] = ev;
+            studentCol[row] = students.encode(r.studentName);
+            departmentCol[row] = dept;
+            positionCol[row] = pos;
+
+            if (ev == byEvent.length()) {
+                AtomicReferenceArray<int[]> grown = new AtomicReferenceArray<>(ev * 2);
+                for (int i = 0; i < ev; i++) grown.set(i, byEvent.get(i));
+                byEvent = grown;
+            }
+            return row;
+        }
+
+        // Every result as of now, unaffected by later publishes
+        Snapshot snapshot() {
+            return current;
+        }
+
+        Dictionary eventNames() {
+            return eventNames;
+        }
+
+        Dictionary departments() {
+            return departments;
+        }
+
+        Result get(int row) {
+            return current.get(row);
+        }
+
+        List<Result> forEvent(String eventName) {
+            return current.forEvent(eventName);
+        }
+
+        Map<String, int[]> departmentTallies() {
+            return current.departmentTallies();
+        }
+
+        int size() {
+            return current.size();
+        }
+
+        @Override
+        public Iterator<Result> iterator() {
+            return current.iterator();
+        }
+
+        // "1st" -> 1, "2nd" -> 2, "10th" -> 10; anything without a leading number
+        // (e.g. "Participation") ranks after all placings
+        static int rank(String position) {
+            int n = 0, i = 0;
+            while (i < position.length() && Character.isDigit(position.charAt(i)) && n < 100_000) {
+                n = n * 10 + (position.charAt(i) - '0');
+                i++;
+            }
+            return n > 0 ? n : Integer.MAX_VALUE;
+        }
+    }
+
+    // -------------------- Registration ledger --------------------
+    // Attendees per event and events per student as IdSets of store ids. Guarded
+    // by its own monitor, since a student's set spans events; readers get copies,
+    // or through view() a shared array kept until the event next changes.
+    static class RegistrationLedger {
+        private final ArrayList<IdSet> attendees = new ArrayList<>(); // by event id
+        private final ArrayList<IdSet> eventsOf = new ArrayList<>();  // by student id
+        private long total;
+        // by event id; written under the monitor, null until read since the event's last change
+        private volatile AtomicReferenceArray<int[]> views = new AtomicReferenceArray<>(0);
+
+        synchronized boolean isRegistered(int eventId, int studentId) {
+            return eventId < attendees.size() && attendees.get(eventId).contains(studentId);
+        }
+
+        // false if the student was already registered
+        synchronized boolean add(int eventId, int studentId) {
+            if (!set(attendees, eventId).add(studentId)) return false;
+            set(eventsOf, studentId).add(eventId);
+            total++;
+            dropView(eventId);
+            return true;
+        }
+
+        // false if the student was not registered
+        synchronized boolean remove(int eventId, int studentId) {
+            if (!isRegistered(eventId, studentId)) return false;
+            attendees.get(eventId).remove(studentId);
+            eventsOf.get(studentId).remove(eventId);
+            total--;
+            dropView(eventId);
+            return true;
+        }
+
+        synchronized int[] attendees(int eventId) {
+            return eventId < attendees.size() ? attendees.get(eventId).toArray() : new int[0];
+        }
+
+        // Attendee ids, shared: callers must not modify the array. Takes no lock unless
+        // the event changed since the last view of it.
+        int[] view(int eventId) {
+            AtomicReferenceArray<int[]> v = views;
+            int[] ids = eventId < v.length() ? v.get(eventId) : null;
+            return ids != null ? ids : cacheView(eventId);
+        }
+
+        private synchronized int[] cacheView(int eventId) {
+            int[] ids = attendees(eventId);
+            if (eventId >= attendees.size()) return ids;
+            AtomicReferenceArray<int[]> v = views;
+            if (eventId >= v.length()) {
+                AtomicReferenceArray<int[]> grown = new AtomicReferenceArray<>(Math.max(eventId + 1, v.length() * 2));
+                for (int e = 0; e < v.length(); e++) grown.set(e, v.get(e));
+                views = v = grown;
+            }
+            v.set(eventId, ids);
+            return ids;
+        }
+
+        private void dropView(int eventId) {
+            AtomicReferenceArray<int[]> v = views;
+            if (eventId < v.length()) v.set(eventId, null);
+        }
+
+        synchronized int[] eventsOf(int studentId) {
+            return studentId < eventsOf.size() ? eventsOf.get(studentId).toArray() : new int[0];
+        }
+
+        // Students registered for both events
+        synchronized int[] attendeesOfBoth(int eventA, int eventB) {
+            if (eventA >= attendees.size() || eventB >= attendees.size()) return new int[0];
+            return attendees.get(eventA).and(attendees.get(eventB)).toArray();
+        }
+
+        synchronized long total() {
+            return total;
+        }
+
+        // eventId -> attendee ids, for the snapshot
+        synchronized void forEachEvent(ObjIntConsumer<int[]> action) {
+            for (int e = 0; e < attendees.size(); e++) {
+                if (attendees.get(e).size() > 0) action.accept(attendees.get(e).toArray(), e);
+            }
+        }
+
+        private static IdSet set(ArrayList<IdSet> sets, int id) {
+            while (sets.size() <= id) sets.add(new IdSet());
+            return sets.get(id);
+        }
+    }
+
+    // Compressed int set: 64K-wide chunks, each a sorted char[] until ARRAY_MAX
+    // entries and a bitmap after that.
+    static final class IdSet {
+        static final int ARRAY_MAX = 4096;
+
+        private static final class Chunk {
+            char[] array = new char[4]; // sorted, while card <= ARRAY_MAX
+            long[] bits;                // once dense
+            int card;
+
+            boolean contains(char low) {
+                if (bits != null) return (bits[low >>> 6] & 1L << low) != 0;
+                return Arrays.binarySearch(array, 0, card, low) >= 0;
+            }
+
+            boolean add(char low) {
+                if (bits != null) {
+                    long mask = 1L << low;
+                    if ((bits[low >>> 6] & mask) != 0) return false;
+                    bits[low >>> 6] |= mask;
+                    card++;
+                    return true;
+                }
+                int i = Arrays.binarySearch(array, 0, card, low);
+                if (i >= 0) return false;
+                if (card == ARRAY_MAX) {
+                    bits = new long[1024];
+                    for (int k = 0; k < card; k++) bits[array[k] >>> 6] |= 1L << array[k];
+                    array = null;
+                    return add(low);
+                }
+                i = -i - 1;
+                if (card == array.length) array = Arrays.copyOf(array, Math.min(ARRAY_MAX, card * 2));
+                System.arraycopy(array, i, array, i + 1, card - i);
+                array[i] = low;
+                card++;
+                return true;
+            }
+
+            boolean remove(char low) {
+                if (bits != null) {
+                    long mask = 1L << low;
+                    if ((bits[low >>> 6] & mask) == 0) return false;
+                    bits[low >>> 6] &= ~mask;
+                    card--;
+                    return true;
+                }
+                int i = Arrays.binarySearch(array, 0, card, low);
+                if (i < 0) return false;
+                System.arraycopy(array, i + 1, array, i, card - i - 1);
+                card--;
+                return true;
+            }
+
+            // Appends every member (high bits = base) to out, ascending
+            int copyTo(int[] out, int at, int base) {
+                if (bits == null) {
+                    for (int k = 0; k < card; k++) out[at++] = base | array[k];
+                } else {
+                    for (int w = 0; w < bits.length; w++) {
+                        for (long word = bits[w]; word != 0; word &= word - 1) {
+                            out[at++] = base | w << 6 | Long.numberOfTrailingZeros(word);
+                        }
+                    }
+                }
+                return at;
+            }
+        }
+
+        private char[] keys = new char[1];
+        private Chunk[] chunks = new Chunk[1];
+        private int used;
+        private int size;
+
+        boolean add(int id) {
+            char key = (char) (id >>> 16);
+            int i = find(key);
+            if (i < 0) {
+                i = -i - 1;
+                if (used == keys.length) {
+                    keys = Arrays.copyOf(keys, used * 2);
+                    chunks = Arrays.copyOf(chunks, used * 2);
+                }
+                System.arraycopy(keys, i, keys, i + 1, used - i);
+                System.arraycopy(chunks, i, chunks, i + 1, used - i);
+                keys[i] = key;
+                chunks[i] = new Chunk();
+                used++;
+            }
+            if (!chunks[i].add((char) id)) return false;
+            size++;
+            return true;
+        }
+
+        boolean remove(int id) {
+            int i = find((char) (id >>> 16));
+            if (i < 0 || !chunks[i].remove((char) id)) return false;
+            if (chunks[i].card == 0) {
+                System.arraycopy(keys, i + 1, keys, i, used - i - 1);
+                System.arraycopy(chunks, i + 1, chunks, i, used - i - 1);
+                chunks[--used] = null;
+            }
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            int i = find((char) (id >>> 16));
+            return i >= 0 && chunks[i].contains((char) id);
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            int[] out = new int[size];
+            int at = 0;
+            for (int i = 0; i < used; i++) at = chunks[i].copyTo(out, at, keys[i] << 16);
+            return out;
+        }
+
+        // Intersection; walks the smaller set and probes the larger
+        IdSet and(IdSet other) {
+            IdSet small = size <= other.size ? this : other, large = small == this ? other : this;
+            IdSet out = new IdSet();
+            for (int id : small.toArray()) {
+                if (large.contains(id)) out.add(id);
+            }
+            return out;
+        }
+
+        private int find(char key) {
+            return Arrays.binarySearch(keys, 0, used, key);
+        }
+    }
+
+    // -------------------- Waitlists --------------------
+    // First-come queues of student ids per event, guarded by the event's monitor
+    // like every seat change, so a released seat always goes to the head. Each
+    // student's events are indexed too, so "my waitlists" doesn't visit every queue.
+    static class Waitlist {
+        private static final int[] NONE = new int[0];
+
+        // One event's queue. Students sit in join order in slots, with a Fenwick tree
+        // counting the occupied ones, so a place is a prefix sum rather than a walk.
+        // Slots freed at the front are reclaimed when the array fills up.
+        private static final class Queue {
+            int[] slots = new int[8];  // student id, or -1 once they left
+            int[] tree = new int[9];   // Fenwick tree over slots, 1-based
+            final HashMap<Integer, Integer> slotOf = new HashMap<>();
+            int head, tail;            // occupied slots are within [head, tail)
+
+            boolean add(int studentId) {
+                if (slotOf.containsKey(studentId)) return false;
+                if (tail == slots.length) repack();
+                slots[tail] = studentId;
+                slotOf.put(studentId, tail);
+                count(tail++, 1);
+                return true;
+            }
+
+            boolean remove(int studentId) {
+                Integer slot = slotOf.remove(studentId);
+                if (slot == null) return false;
+                slots[slot] = -1;
+                count(slot, -1);
+                while (head < tail && slots[head] == -1) head++;
+                return true;
+            }
+
+            int poll() {
+                int studentId = slots[head];
+                remove(studentId);
+                return studentId;
+            }
+
+            // 1-based place, or 0
+            int position(int studentId) {
+                Integer slot = slotOf.get(studentId);
+                if (slot == null) return 0;
+                int place = 0;
+                for (int i = slot + 1; i > 0; i -= i & -i) place += tree[i];
+                return place;
+            }
+
+            int[] toArray() {
+                int[] out = new int[slotOf.size()];
+                int n = 0;
+                for (int i = head; i < tail; i++) {
+                    if (slots[i] != -1) out[n++] = slots[i];
+                }
+                return out;
+            }
+
+            private void count(int slot, int delta) {
+                for (int i = slot + 1; i < tree.length; i += i & -i) tree[i] += delta;
+            }
+
+            // Moves the waiting students to the front of a right-sized array and rebuilds the tree
+            private void repack() {
+                int[] waiting = toArray();
+                slots = new int[Math.max(8, waiting.length * 2)];
+                tree = new int[slots.length + 1];
+                System.arraycopy(waiting, 0, slots, 0, waiting.length);
+                for (int i = 0; i < waiting.length; i++) {
+                    slotOf.put(waiting[i], i);
+                    tree[i + 1] = 1;
+                }
+                for (int i = 1; i < tree.length; i++) { // each node adds its total into its parent
+                    int parent = i + (i & -i);
+                    if (parent < tree.length) tree[parent] += tree[i];
+                }
+                head = 0;
+                tail = waiting.length;
+            }
+        }
+
+        private final ConcurrentHashMap<Integer, Queue> byEvent = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Integer, int[]> byStudent = new ConcurrentHashMap<>(); // event ids, replaced on change
+        private final AtomicLong total = new AtomicLong();
+
+        // The methods below are called holding the event's monitor
+        boolean add(int eventId, int studentId) {
+            if (!byEvent.computeIfAbsent(eventId, k -> new Queue()).add(studentId)) return false;
+            byStudent.merge(studentId, new int[]{eventId}, (ids, one) -> {
+                int[] grown = Arrays.copyOf(ids, ids.length + 1);
+                grown[ids.length] = eventId;
+                return grown;
+            });
+            total.incrementAndGet();
+            return true;
+        }
+
+        boolean remove(int eventId, int studentId) {
+            Queue q = byEvent.get(eventId);
+            if (q == null || !q.remove(studentId)) return false;
+            left(eventId, studentId);
+            return true;
+        }
+
+        boolean contains(int eventId, int studentId) {
+            Queue q = byEvent.get(eventId);
+            return q != null && q.slotOf.containsKey(studentId);
+        }
+
+        // Head of the queue, or -1
+        int poll(int eventId) {
+            Queue q = byEvent.get(eventId);
+            if (q == null || q.slotOf.isEmpty()) return -1;
+            int head = q.poll();
+            left(eventId, head);
+            return head;
+        }
+
+        private void left(int eventId, int studentId) {
+            byStudent.computeIfPresent(studentId, (k, ids) -> {
+                if (ids.length == 1) return null;
+                int[] shrunk = new int[ids.length - 1];
+                for (int i = 0, n = 0; i < ids.length; i++) {
+                    if (ids[i] != eventId) shrunk[n++] = ids[i];
+                }
+                return shrunk;
+            });
+            total.decrementAndGet();
+        }
+
+        int size(int eventId) {
+            Queue q = byEvent.get(eventId);
+            return q == null ? 0 : q.slotOf.size();
+        }
+
+        // 1-based place in the queue, or 0 if not waiting
+        int position(int eventId, int studentId) {
+            Queue q = byEvent.get(eventId);
+            return q == null ? 0 : q.position(studentId);
+        }
+
+        int[] waiting(int eventId) {
+            Queue q = byEvent.get(eventId);
+            return q == null ? NONE : q.toArray();
+        }
+
+        // Events that have (or had) a queue; safe to call without any lock
+        Set<Integer> eventIds() {
+            return byEvent.keySet();
+        }
+
+        // Events the student is waiting for, in the order joined; safe to call without any lock
+        int[] eventsOf(int studentId) {
+            return byStudent.getOrDefault(studentId, NONE);
+        }
+
+        long total() {
+            return total.get();
+        }
+    }
+
+    // -------------------- Search index --------------------
+    // Type-ahead search: every word of event and user fields is a term in a sorted
+    // map of postings (entity index << 3 | field). A prefix query ranks all matches,
+    // except that one or two letters are answered from the best postings kept per
+    // prefix. Written under storeLock; postings only grow, so readers don't lock.
+    static class SearchIndex {
+        static final int EVENT_NAME = 0, LOCATION = 1, USERNAME = 2, FULL_NAME = 3, DEPARTMENT = 4;
+        static final int SHORT = 2;  // longest prefix with its best postings kept
+        static final int KEPT = 256; // postings kept per short prefix; an entity may hold several
+        private static final int[] WEIGHT = {50, 20, 40, 40, 10};
+        private static final int RANKS = WEIGHT[EVENT_NAME] - WEIGHT[DEPARTMENT] + 30 + 20 + 1;
+
+        record Hit(Event event, User user) {
+            @Override
+            public String toString() {
+                if (event != null) return event.name + " — " + event.date + " @ " + event.location;
+                return (user.fullName.isEmpty() ? user.username : user.fullName + " (" + user.username + ")")
+                        + (user.department.isEmpty() ? "" : " — " + user.department);
+            }
+        }
+
+        // Read size before items: every posting below size is in that array or a later one
+        private static final class Postings {
+            int[] items = new int[2];
+            volatile int size;
+
+            void add(int posting) {
+                int n = size;
+                if (n == items.length) items = Arrays.copyOf(items, n * 2);
+                items[n] = posting;
+                size = n + 1;
+            }
+        }
+
+        // A posting in search order: by rank, then term, then when it was added
+        private record Ranked(int rank, String term, int key) {} // key as in search: id << 1 | isUser
+
+        // A short prefix's first KEPT postings in search order; the arrays are replaced, never changed
+        private static final class Best {
+            volatile Ranked[] all = new Ranked[0];
+            volatile Ranked[] events = new Ranked[0];
+        }
+
+        private volatile ConcurrentSkipListMap<String, Postings> terms = new ConcurrentSkipListMap<>();
+        private volatile ConcurrentHashMap<String, Best> best = new ConcurrentHashMap<>();
+
+        void addEvent(Event ev) {
+            index(ev.name, ev.id, EVENT_NAME);
+            index(ev.location, ev.id, LOCATION);
+        }
+
+        void addUser(User u) {
+            index(u.username, u.id, USERNAME);
+            index(u.fullName, u.id, FULL_NAME);
+            index(u.department, u.id, DEPARTMENT);
+        }
+
+        // Re-indexes everything, e.g. after the journal has been replayed; readers
+        // keep the old map until the new one is complete
+        void rebuild() {
+            ConcurrentSkipListMap<String, Postings> fresh = new ConcurrentSkipListMap<>();
+            ConcurrentHashMap<String, Best> freshBest = new ConcurrentHashMap<>();
+            for (Event ev : events) {
+                index(fresh, freshBest, ev.name, ev.id, EVENT_NAME);
+                index(fresh, freshBest, ev.location, ev.id, LOCATION);
+            }
+            for (User u : users) {
+                index(fresh, freshBest, u.username, u.id, USERNAME);
+                index(fresh, freshBest, u.fullName, u.id, FULL_NAME);
+                index(fresh, freshBest, u.department, u.id, DEPARTMENT);
+            }
+            best = freshBest; // short queries only read best, longer ones only terms
+            terms = fresh;
+        }
+
+        private void index(String text, int id, int field) {
+            index(terms, best, text, id, field);
+        }
+
+        private static void index(ConcurrentSkipListMap<String, Postings> into, ConcurrentHashMap<String, Best> best,
+                                  String text, int id, int field) {
+            for (String t : tokens(text)) {
+                into.computeIfAbsent(t, k -> new Postings()).add(id << 3 | field);
+                for (int len = 1; len <= Math.min(SHORT, t.length()); len++) {
+                    String prefix = t.substring(0, len);
+                    Ranked r = new Ranked(rank(field, bonus(t, prefix)), t, id << 1 | (field > LOCATION ? 1 : 0));
+                    Best b = best.computeIfAbsent(prefix, k -> new Best());
+                    b.all = keep(b.all, r);
+                    if (field <= LOCATION) b.events = keep(b.events, r);
+                }
+            }
+        }
+
+        // r goes after everything ranked the same or better, as a full search would order it
+        private static Ranked[] keep(Ranked[] kept, Ranked r) {
+            int lo = 0, hi = kept.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                Ranked k = kept[mid];
+                if (k.rank() < r.rank() || k.rank() == r.rank() && k.term().compareTo(r.term()) <= 0) lo = mid + 1;
+                else hi = mid;
+            }
+            if (lo == KEPT) return kept;
+            Ranked[] out = new Ranked[Math.min(KEPT, kept.length + 1)];
+            System.arraycopy(kept, 0, out, 0, lo);
+            out[lo] = r;
+            System.arraycopy(kept, lo, out, lo + 1, out.length - lo - 1);
+            return out;
+        }
+
+        // Best matches first: field weight, exact word over completion, shorter completion
+        List<Hit> search(String query, int limit, boolean eventsOnly) {
+            List<String> words = tokens(query);
+            if (words.isEmpty()) return List.of();
+            if (words.size() == 1 && words.get(0).length() <= SHORT) {
+                List<Hit> hits = fromBest(words.get(0), limit, eventsOnly);
+                if (hits != null) return hits;
+            }
+            // walk the word with the fewest postings (longest if all are common); the others only filter
+            String driver = words.get(0);
+            if (words.size() > 1) {
+                int fewest = Integer.MAX_VALUE;
+                for (String w : words) {
+                    if (w.length() > driver.length()) driver = w;
+                }
+                for (String w : words) {
+                    int n = postingCount(w, fewest);
+                    if (n == 0) return List.of();
+                    if (n < fewest) {
+                        fewest = n;
+                        driver = w;
+                    }
+                }
+            }
+
+            // Every posting under the prefix is ranked. There are only RANKS distinct
+            // scores, so a counting sort orders them instead of a comparison sort.
+            int[] keys = new int[64]; // id << 1 | isUser
+            byte[] ranks = new byte[64];
+            int[] next = new int[RANKS + 1];
+            int count = 0;
+            for (Map.Entry<String, Postings> e : terms.subMap(driver, driver + '\uffff').entrySet()) {
+                int bonus = bonus(e.getKey(), driver);
+                Postings p = e.getValue();
+                int n = p.size;
+                int[] items = p.items;
+                for (int i = 0; i < n; i++) {
+                    int field = items[i] & 7;
+                    boolean user = field > LOCATION;
+                    if (eventsOnly && user) continue;
+                    if (count == keys.length) {
+                        keys = Arrays.copyOf(keys, count * 2);
+                        ranks = Arrays.copyOf(ranks, count * 2);
+                    }
+                    keys[count] = (items[i] >>> 3) << 1 | (user ? 1 : 0);
+                    ranks[count] = (byte) rank(field, bonus);
+                    next[ranks[count++] + 1]++;
+                }
+            }
+            for (int r = 0; r < RANKS; r++) next[r + 1] += next[r];
+            int[] ranked = new int[count]; // keys, best first
+            for (int i = 0; i < count; i++) ranked[next[ranks[i]]++] = keys[i];
+
+            ArrayList<Hit> hits = new ArrayList<>(Math.min(limit, count));
+            HashSet<Integer> seen = new HashSet<>(); // an entity's later postings score no better
+            for (int i = 0; i < count && hits.size() < limit; i++) {
+                int key = ranked[i];
+                if (!seen.add(key)) continue;
+                Hit h = (key & 1) == 0 ? new Hit(events.get(key >>> 1), null) : new Hit(null, users.get(key >>> 1));
+                if (words.size() == 1 || matchesAll(h, words)) hits.add(h);
+            }
+            return hits;
+        }
+
+        // null if the kept postings run out before limit hits while more may exist
+        private List<Hit> fromBest(String prefix, int limit, boolean eventsOnly) {
+            Best b = best.get(prefix);
+            if (b == null) return List.of();
+            Ranked[] kept = eventsOnly ? b.events : b.all;
+            ArrayList<Hit> hits = new ArrayList<>(Math.min(limit, kept.length));
+            HashSet<Integer> seen = new HashSet<>();
+            for (int i = 0; i < kept.length && hits.size() < limit; i++) {
+                int key = kept[i].key();
+                if (!seen.add(key)) continue;
+                hits.add((key & 1) == 0 ? new Hit(events.get(key >>> 1), null) : new Hit(null, users.get(key >>> 1)));
+            }
+            return hits.size() < limit && kept.length == KEPT ? null : hits;
+        }
+
+        // An exact word beats any completion; shorter completions beat longer ones
+        private static int bonus(String term, String prefix) {
+            return term.length() == prefix.length() ? 30 : -Math.min(20, term.length() - prefix.length());
+        }
+
+        // 0 is best: the top field weight with an exact word
+        private static int rank(int field, int bonus) {
+            return WEIGHT[EVENT_NAME] - WEIGHT[field] + 30 - bonus;
+        }
+
+        // Postings under a prefix, counted only up to cap
+        private int postingCount(String prefix, int cap) {
+            int n = 0;
+            for (Map.Entry<String, Postings> e : terms.tailMap(prefix, true).entrySet()) {
+                if (n >= cap || !e.getKey().startsWith(prefix)) break;
+                n += e.getValue().size;
+            }
+            return n;
+        }
+
+        private static boolean matchesAll(Hit h, List<String> words) {
+            String text = h.event != null ? h.event.name + " " + h.event.location
+                    : h.user.username + " " + h.user.fullName + " " + h.user.department;
+            for (String w : words) {
+                if (!hasWordStartingWith(text, w)) return false;
+            }
+            return true;
+        }
+
+        private static boolean hasWordStartingWith(String text, String prefix) {
+            for (int i = 0; i + prefix.length() <= text.length(); i++) {
+                boolean wordStart = i == 0 || !Character.isLetterOrDigit(text.charAt(i - 1));
+                if (wordStart && text.regionMatches(true, i, prefix, 0, prefix.length())) return true;
+            }
+            return false;
+        }
+
+        // Lower-cased runs of letters/digits
+        static List<String> tokens(String text) {
+            ArrayList<String> out = new ArrayList<>(4);
+            int start = -1;
+            for (int i = 0; i <= text.length(); i++) {
+                boolean word = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+                if (word && start < 0) start = i;
+                else if (!word && start >= 0) {
+                    out.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                    start = -1;
+                }
+            }
+            return out;
+        }
+    }
+
+    // -------------------- Bulk student import --------------------
+    // Reads a "username,password,full name,department" CSV in chunks on a worker,
+    // parsing each in parallel and committing it on the EDT before reading on.
+    static class StudentImport extends SwingWorker<Void, Void> {
+        static final int CHUNK = 5_000;
+        static final String[] HEADER = {"username", "password", "full name", "department"};
+
+        private final File file;
+        private volatile int invalid;
+        private volatile int duplicates;
+        private volatile int imported;
+
+        StudentImport(File file) {
+            this.file = file;
+        }
+
+        @Override
+        protected Void doInBackground() throws Exception {
+            long total = Math.max(1, file.length());
+            long read = 0;
+            Set<String> seen = new HashSet<>();
+            ArrayList<String> chunk = new ArrayList<>(CHUNK);
+            try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+                String line = in.readLine();
+                if (line != null && isHeader(line)) line = in.readLine();
+                while (line != null && !isCancelled()) {
+                    read += line.length() + 1;
+                    if (!line.isBlank()) chunk.add(line);
+                    line = in.readLine();
+                    if (chunk.size() == CHUNK || (line == null && !chunk.isEmpty())) {
+                        List<User> parsed = chunk.parallelStream().map(StudentImport::parseRow).collect(Collectors.toList());
+                        ArrayList<User> batch = new ArrayList<>(parsed.size());
+                        int bad = 0, dup = 0;
+                        for (User u : parsed) {
+                            if (u == null) bad++;
+                            else if (!seen.add(u.username) || users.exists(u.username)) dup++;
+                            else batch.add(u);
+                        }
+                        invalid += bad;
+                        duplicates += dup;
+                        SwingUtilities.invokeAndWait(() -> {
+                            int added = addUsers(batch);
+                            imported += added;
+                            duplicates += batch.size() - added; // taken through the form since validation
+                        });
+                        durable().join(); // the sync happens here, not on the EDT
+                        chunk = new ArrayList<>(CHUNK);
+                        setProgress((int) Math.min(99, read * 100 / total));
+                    }
+                }
+            }
+            return null;
+        }
+
+        // Only the exact column names count, so a first student called "usernameA" is kept
+        static boolean isHeader(String line) {
+            String[] f = line.split(",", -1);
+            if (f.length != HEADER.length) return false;
+            for (int i = 0; i < f.length; i++) {
+                if (!f[i].trim().toLowerCase(Locale.ROOT).equals(HEADER[i])) return false;
+            }
+            return true;
+        }
+
+        // null if the row is malformed
+        static User parseRow(String line) {
+            String[] f = line.split(",", -1);
+            if (f.length != 4) return null;
+            String username = f[0].trim(), password = f[1].trim();
+            if (username.isEmpty() || password.isEmpty()) return null;
+            return new User(username, password, "Student", f[2].trim(), f[3].trim());
+        }
+
+        String summary() {
+            String status;
+            if (isCancelled()) {
+                status = "Import cancelled.";
+            } else {
+                try {
+                    get();
+                    status = "Import finished.";
+                } catch (InterruptedException | ExecutionException ex) {
+                    Throwable cause = ex.getCause() != null ? ex.getCause() : ex;
+                    status = "Import stopped: " + cause.getMessage();
+                }
+            }
+            return status + "\nImported: " + imported + "\nDuplicates skipped: " + duplicates + "\nInvalid rows: " + invalid;
+        }
+    }
+
+    // -------------------- Batch results --------------------
+    // A "student,department,position" sheet for one event, checked as a whole
+    // (known student and department, each placing and student once) and then
+    // published in one step. The one-result dialogs use the same checks.
+    static class ResultBatch {
+        static final int MAX_ERRORS_SHOWN = 20;
+        static final String[] HEADER = {"student", "department", "position"};
+
+        final String eventName;
+        final List<Result> rows = new ArrayList<>();
+        final List<String> errors = new ArrayList<>();
+
+        private ResultBatch(String eventName) {
+            this.eventName = eventName;
+        }
+
+        static ResultBatch parse(String eventName, String text) {
+            ResultBatch b = new ResultBatch(eventName);
+            String[] lines = text.split("\\R");
+            ArrayList<String[]> sheet = new ArrayList<>(); // {student, department, position}
+            ArrayList<String> where = new ArrayList<>();
+            for (int i = 0; i < lines.length; i++) {
+                String line = lines[i];
+                if (line.isBlank()) continue;
+                if (i == 0 && isHeader(line)) continue;
+                String[] f = line.split(",", -1);
+                where.add("Line " + (i + 1) + ": ");
+                sheet.add(f.length == 3 ? new String[]{f[0].trim(), f[1].trim(), f[2].trim()} : null);
+            }
+            b.validate(sheet, where);
+            return b;
+        }
+
+        static boolean isHeader(String line) {
+            String[] f = line.split(",", -1);
+            if (f.length != HEADER.length) return false;
+            for (int i = 0; i < f.length; i++) {
+                if (!f[i].trim().toLowerCase(Locale.ROOT).equals(HEADER[i])) return false;
+            }
+            return true;
+        }
+
+        static ResultBatch single(String eventName, String student, String department, String position) {
+            ResultBatch b = new ResultBatch(eventName);
+            b.validate(List.<String[]>of(new String[]{student.trim(), department.trim(), position.trim()}), List.of(""));
+            return b;
+        }
+
+        // A null row is a line without three fields; where.get(i) prefixes row i's errors
+        private void validate(List<String[]> sheet, List<String> where) {
+            // departments only seen in published results; students come from the UserStore indexes
+            HashMap<String, String> departments = new HashMap<>(); // lower-cased -> as stored
+            ResultStore.Dictionary published = results.departments();
+            for (int d = 0; d < published.size(); d++) {
+                departments.putIfAbsent(published.value(d).toLowerCase(Locale.ROOT), published.value(d));
+            }
+
+            HashMap<Integer, String> placings = new HashMap<>(); // rank -> who holds it
+            HashSet<String> placed = new HashSet<>();            // lower-cased student names with a result
+            for (Result r : results.forEvent(eventName)) {
+                int rank = ResultStore.rank(r.position);
+                if (rank != Integer.MAX_VALUE) placings.putIfAbsent(rank, r.studentName + " (published)");
+                placed.add(r.studentName.toLowerCase(Locale.ROOT));
+            }
+
+            for (int i = 0; i < sheet.size(); i++) {
+                String[] row = sheet.get(i);
+                String at = where.get(i);
+                if (row == null) {
+                    errors.add(at + "expected student,department,position");
+                    continue;
+                }
+                String student = row[0], dept = row[1], position = row[2];
+                if (student.isEmpty() || dept.isEmpty() || position.isEmpty()) {
+                    errors.add(at + "student, department and position are all required");
+                    continue;
+                }
+                List<User> matches = users.students(student);
+                User u = null;
+                for (User m : matches) {
+                    if (m.department.equalsIgnoreCase(dept) || (m.department.isEmpty() && u == null)) u = m;
+                }
+                String known = users.department(dept);
+                if (known == null) known = departments.get(dept.toLowerCase(Locale.ROOT));
+                if (matches.isEmpty()) {
+                    errors.add(at + "unknown student \"" + student + "\"");
+                    continue;
+                }
+                if (u == null) {
+                    errors.add(at + student + " is in " + matches.get(0).department + ", not " + dept);
+                    continue;
+                }
+                if (u.department.isEmpty() && known == null) {
+                    errors.add(at + "unknown department \"" + dept + "\"");
+                    continue;
+                }
+                String name = u.fullName.isEmpty() ? u.username : u.fullName;
+                if (!placed.add(name.toLowerCase(Locale.ROOT))) {
+                    errors.add(at + name + " already has a result for " + eventName);
+                    continue;
+                }
+                int rank = ResultStore.rank(position);
+                if (rank != Integer.MAX_VALUE) {
+                    String holder = placings.putIfAbsent(rank, name);
+                    if (holder != null) {
+                        errors.add(at + position + " is already taken by " + holder);
+                        continue;
+                    }
+                }
+                rows.add(new Result(eventName, name, u.department.isEmpty() ? known : u.department, position));
+            }
+        }
+
+        boolean ok() {
+            return errors.isEmpty() && !rows.isEmpty();
+        }
+
+        String summary() {
+            if (rows.isEmpty() && errors.isEmpty()) return "The sheet has no results.";
+            StringBuilder sb = new StringBuilder();
+            sb.append(errors.size()).append(errors.size() == 1 ? " problem" : " problems")
+                    .append(" in ").append(rows.size() + errors.size()).append(" rows; nothing was published.\n\n");
+            for (int i = 0; i < Math.min(errors.size(), MAX_ERRORS_SHOWN); i++) sb.append(errors.get(i)).append("\n");
+            if (errors.size() > MAX_ERRORS_SHOWN) sb.append("... and ").append(errors.size() - MAX_ERRORS_SHOWN).append(" more");
+            return sb.toString();
+        }
+    }
+
+    // -------------------- Headless HTTP API --------------------
+    // `java smartevent.java --server [port]` serves the stores over HTTP instead of
+    // Swing. JSON bodies are cached per data version; sessions end on logout or
+    // after SESSION_IDLE.
+    //
+    //   POST /api/login      username, password, role   -> {"token":...}
+    //   POST /api/logout     token                       -> {"loggedOut":true}
+    //   GET  /api/events                                 -> [{"id":0,"name":...}, ...]
+    //   POST /api/register   token, event (id)           -> {"registered":true,"already":false,...}
+    //   GET  /api/results    event (name)                -> [{"student":...}, ...]
+    //   GET  /api/calendar   month (YYYY-MM)             -> {"month":...,"counts":[...]}
+    static class ApiServer {
+        static final Duration SESSION_IDLE = Duration.ofMinutes(30);
+
+        private record Cached(long version, byte[] body) {}
+
+        private record ResultsCache(long version, ConcurrentHashMap<String, byte[]> bodies) {}
+
+        private static final class Session {
+            final User user;
+            volatile long lastUsed = System.nanoTime();
+
+            Session(User user) {
+                this.user = user;
+            }
+        }
+
+        private interface Handler {
+            void handle(HttpExchange ex, Map<String, String> params) throws IOException;
+        }
+
+        private final HttpServer http;
+        private final ExecutorService executor;
+        private final long idleNanos;
+        private final ConcurrentHashMap<String, Session> sessions = new ConcurrentHashMap<>();
+        private volatile long nextSweep = System.nanoTime();
+        private volatile Cached eventsJson = new Cached(-1, null);
+        private volatile ResultsCache resultsJson = new ResultsCache(-1, new ConcurrentHashMap<>());
+
+        ApiServer(int port) throws IOException {
+            this(port, SESSION_IDLE);
+        }
+
+        ApiServer(int port, Duration sessionIdle) throws IOException {
+            idleNanos = sessionIdle.toNanos();
+            http = HttpServer.create(new InetSocketAddress(port), 0);
+            executor = requestExecutor();
+            http.setExecutor(executor);
+            route("/api/login", "POST", this::login);
+            route("/api/logout", "POST", this::logout);
+            route("/api/events", "GET", this::listEvents);
+            route("/api/register", "POST", this::register);
+            route("/api/results", "GET", this::listResults);
+            route("/api/calendar", "GET", this::calendar);
+        }
+
+        void start() {
+            http.start();
+        }
+
+        void stop() {
+            http.stop(0);
+            executor.shutdown();
+        }
+
+        int port() {
+            return http.getAddress().getPort();
+        }
+
+        // Virtual-thread-per-request on JDK 21+, looked up reflectively so this still runs on 17
+        private static ExecutorService requestExecutor() {
+            try {
+                return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            } catch (ReflectiveOperationException ex) {
+                return Executors.newCachedThreadPool();
+            }
+        }
+
+        private void route(String path, String method, Handler h) {
+            http.createContext(path, ex -> {
+                try (ex) {
+                    if (!ex.getRequestMethod().equals(method)) {
+                        send(ex, 405, error("use " + method));
+                        return;
+                    }
+                    h.handle(ex, params(ex));
+                } catch (RuntimeException rex) {
+                    send(ex, 500, error(String.valueOf(rex.getMessage())));
+                }
+            });
+        }
+
+        private void login(HttpExchange ex, Map<String, String> p) throws IOException {
+            User u = SmartEventOrganizerSwing.login(p.getOrDefault("username", ""), p.getOrDefault("password", ""), p.getOrDefault("role", ""));
+            if (u == null) {
+                send(ex, 401, error("invalid credentials or role"));
+                return;
+            }
+            sweepSessions();
+            String token = UUID.randomUUID().toString();
+            sessions.put(token, new Session(u));
+            StringBuilder sb = new StringBuilder(96);
+            sb.append("{\"token\":"); json(sb, token);
+            sb.append(",\"role\":"); json(sb, u.role);
+            sb.append(",\"name\":"); json(sb, u.fullName.isEmpty() ? u.username : u.fullName);
+            send(ex, 200, sb.append('}'));
+        }
+
+        private void logout(HttpExchange ex, Map<String, String> p) throws IOException {
+            sessions.remove(p.getOrDefault("token", ""));
+            send(ex, 200, new StringBuilder("{\"loggedOut\":true}"));
+        }
+
+        // The session's user, or null if the token is unknown or has been idle too long
+        private User user(String token) {
+            Session s = sessions.get(token);
+            if (s == null) return null;
+            long now = System.nanoTime();
+            if (now - s.lastUsed > idleNanos) {
+                sessions.remove(token, s);
+                return null;
+            }
+            s.lastUsed = now;
+            return s.user;
+        }
+
+        // Drops sessions that went idle without logging out; at most once a minute, on login
+        private void sweepSessions() {
+            long now = System.nanoTime();
+            if (now - nextSweep < 0) return;
+            nextSweep = now + TimeUnit.MINUTES.toNanos(1);
+            sessions.values().removeIf(s -> now - s.lastUsed > idleNanos);
+        }
+
+        // Result bodies cached for the current results version
+        int cachedResults() {
+            return resultsJson.bodies.size();
+        }
+
+        private void listEvents(HttpExchange ex, Map<String, String> p) throws IOException {
+            long v = eventsVersion.get();
+            Cached c = eventsJson;
+            if (c.version != v) {
+                StringBuilder sb = new StringBuilder(64 + events.size() * 96).append('[');
+                for (Event ev : events) {
+                    if (sb.length() > 1) sb.append(',');
+                    sb.append("{\"id\":").append(ev.id).append(",\"name\":"); json(sb, ev.name);
+                    sb.append(",\"location\":"); json(sb, ev.location);
+                    sb.append(",\"date\":\"").append(ev.date).append('"');
+                    sb.append(",\"start\":\"").append(Event.clock(ev.startMinute)).append("\",\"end\":\"").append(Event.clock(ev.endMinute)).append('"');
+                    sb.append(",\"booked\":").append(ev.bookedSeats).append(",\"total\":").append(ev.totalSeats).append('}');
+                }
+                c = new Cached(v, sb.append(']').toString().getBytes(StandardCharsets.UTF_8));
+                eventsJson = c;
+            }
+            send(ex, 200, c.body);
+        }
+
+        private void register(HttpExchange ex, Map<String, String> p) throws IOException {
+            User u = user(p.getOrDefault("token", ""));
+            if (u == null || !u.role.equals("Student")) {
+                send(ex, 401, error("student login required"));
+                return;
+            }
+            Event ev;
+            try {
+                ev = events.get(Integer.parseInt(p.getOrDefault("event", "")));
+            } catch (NumberFormatException | IndexOutOfBoundsException nfe) {
+                send(ex, 404, error("no such event"));
+                return;
+            }
+            boolean ok = SmartEventOrganizerSwing.register(ev, u);
+            StringBuilder sb = new StringBuilder(64);
+            sb.append("{\"registered\":").append(ok)
+              .append(",\"already\":").append(!ok && registrations.isRegistered(ev.id, u.id))
+              .append(",\"booked\":").append(ev.bookedSeats).append(",\"total\":").append(ev.totalSeats).append('}');
+            send(ex, ok ? 200 : 409, sb);
+        }
+
+        private void listResults(HttpExchange ex, Map<String, String> p) throws IOException {
+            String eventName = p.getOrDefault("event", "");
+            long v = resultsVersion.get();
+            ResultsCache cache = resultsJson;
+            if (cache.version != v) {
+                cache = new ResultsCache(v, new ConcurrentHashMap<>()); // drops every body from the older version
+                resultsJson = cache;
+            }
+            byte[] body = cache.bodies.get(eventName);
+            if (body == null) {
+                StringBuilder sb = new StringBuilder(256).append('[');
+                for (Result r : results.forEvent(eventName)) {
+                    if (sb.length() > 1) sb.append(',');
+                    sb.append("{\"student\":"); json(sb, r.studentName);
+                    sb.append(",\"department\":"); json(sb, r.department);
+                    sb.append(",\"position\":"); json(sb, r.position);
+                    sb.append('}');
+                }
+                body = sb.append(']').toString().getBytes(StandardCharsets.UTF_8);
+                if (events.hasName(eventName)) cache.bodies.put(eventName, body);
+            }
+            send(ex, 200, body);
+        }
+
+        private void calendar(HttpExchange ex, Map<String, String> p) throws IOException {
+            YearMonth month;
+            try {
+                month = p.containsKey("month") ? YearMonth.parse(p.get("month")) : YearMonth.now();
+            } catch (RuntimeException bad) {
+                send(ex, 400, error("month must be YYYY-MM"));
+                return;
+            }
+            int[] counts = events.countsForMonth(month);
+            StringBuilder sb = new StringBuilder(128);
+            sb.append("{\"month\":\"").append(month).append("\",\"counts\":[");
+            for (int d = 1; d < counts.length; d++) {
+                if (d > 1) sb.append(',');
+                sb.append(counts[d]);
+            }
+            send(ex, 200, sb.append("]}"));
+        }
+
+        // Query string and form-encoded body, merged (body wins)
+        private static Map<String, String> params(HttpExchange ex) throws IOException {
+            HashMap<String, String> p = new HashMap<>();
+            parseForm(ex.getRequestURI().getRawQuery(), p);
+            if (ex.getRequestMethod().equals("POST")) {
+                parseForm(new String(ex.getRequestBody().readNBytes(8192), StandardCharsets.UTF_8), p);
+            }
+            return p;
+        }
+
+        private static void parseForm(String form, Map<String, String> into) {
+            if (form == null || form.isEmpty()) return;
+            for (String pair : form.split("&")) {
+                int eq = pair.indexOf('=');
+                if (eq <= 0) continue;
+                into.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+
+        private static StringBuilder error(String message) {
+            StringBuilder sb = new StringBuilder(64).append("{\"error\":");
+            json(sb, message);
+            return sb.append('}');
+        }
+
+        private static void json(StringBuilder sb, String s) {
+            sb.append('"');
+            for (int i = 0; i < s.length(); i++) {
+                char ch = s.charAt(i);
+                switch (ch) {
+                    case '"' -> sb.append("\\\"");
+                    case '\\' -> sb.append("\\\\");
+                    case '\n' -> sb.append("\\n");
+                    case '\r' -> sb.append("\\r");
+                    case '\t' -> sb.append("\\t");
+                    default -> {
+                        if (ch < 0x20) sb.append(String.format("\\u%04x", (int) ch));
+                        else sb.append(ch);
+                    }
+                }
+            }
+            sb.append('"');
+        }
+
+        private static void send(HttpExchange ex, int status, CharSequence body) throws IOException {
+            send(ex, status, body.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static void send(HttpExchange ex, int status, byte[] body) throws IOException {
+            ex.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            ex.sendResponseHeaders(status, body.length);
+            ex.getResponseBody().write(body);
+        }
+    }
+
+    // -------------------- Load simulation --------------------
+    // `java smartevent.java --simulate [key=value ...]` replays a traffic spike
+    // without Swing and appends exact per-operation percentiles to a CSV.
+    // Persistence is off unless data=<dir> is given (use an empty directory).
+    //
+    //   students=10000 events=50 seats=500 threads=8 ops=400000 hot=0.5 seed=42
+    //   mix=login:20,register:50,publish:5,calendar:25 out=simulation.csv data=<dir>
+    static class LoadSimulation {
+        enum Op { LOGIN, REGISTER, PUBLISH, CALENDAR }
+
+        static final String HOT_EVENT = "Cultural Fest";
+        static final String[] DEPARTMENTS = {"CSE", "ECE", "EEE", "MECH", "CIVIL", "IT"};
+        static final String[] POSITIONS = {"1st", "2nd", "3rd", "Participation"};
+        static final String CSV_HEADER = "run,operation,count,rejected,errors,ops_per_sec,p50_us,p99_us,p999_us,max_us,"
+                + "students,events,seats,threads,hot,seed\n";
+
+        // Raw latencies of one operation type on one worker
+        private static final class Samples {
+            long[] nanos = new long[1024];
+            int size;
+            long rejected, errors;
+
+            void add(long n) {
+                if (size == nanos.length) nanos = Arrays.copyOf(nanos, size * 2);
+                nanos[size++] = n;
+            }
+        }
+
+        private final int students, eventCount, seats, threads, ops;
+        private final double hot;
+        private final long seed;
+        private final int[] weights = new int[Op.values().length];
+        private final Path out;
+        private final Path data;
+
+        private int firstStudent, firstEvent;
+        private Event hotEvent;
+
+        LoadSimulation(String[] args) {
+            HashMap<String, String> opt = new HashMap<>(Map.of("students", "10000", "events", "50", "seats", "500",
+                    "threads", "8", "ops", "400000", "hot", "0.5", "seed", "42",
+                    "mix", "login:20,register:50,publish:5,calendar:25", "out", "simulation.csv"));
+            for (String arg : args) {
+                int eq = arg.indexOf('=');
+                if (eq < 0 || !opt.containsKey(arg.substring(0, eq)) && !arg.startsWith("data=")) {
+                    throw new IllegalArgumentException("unknown option " + arg);
+                }
+                opt.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+            students = positive(opt, "students");
+            eventCount = positive(opt, "events");
+            seats = positive(opt, "seats");
+            threads = positive(opt, "threads");
+            ops = positive(opt, "ops");
+            hot = Double.parseDouble(opt.get("hot"));
+            if (hot < 0 || hot > 1) throw new IllegalArgumentException("hot must be between 0 and 1");
+            seed = Long.parseLong(opt.get("seed"));
+            for (String part : opt.get("mix").split(",")) {
+                String[] kv = part.split(":");
+                if (kv.length != 2) throw new IllegalArgumentException("mix entries look like register:50");
+                weights[Op.valueOf(kv[0].trim().toUpperCase(Locale.ROOT)).ordinal()] = Integer.parseInt(kv[1].trim());
+            }
+            if (Arrays.stream(weights).sum() <= 0 || Arrays.stream(weights).anyMatch(w -> w < 0)) {
+                throw new IllegalArgumentException("mix weights must be >= 0 and not all 0");
+            }
+            out = Path.of(opt.get("out"));
+            data = opt.containsKey("data") ? Path.of(opt.get("data")) : null;
+        }
+
+        private static int positive(Map<String, String> opt, String key) {
+            int n = Integer.parseInt(opt.get(key));
+            if (n <= 0) throw new IllegalArgumentException(key + " must be positive");
+            return n;
+        }
+
+        // Process exit code: 0 ok, 1 errors or a seat count that doesn't match the ledger, 2 bad options
+        static int run(String[] args) {
+            LoadSimulation sim;
+            try {
+                sim = new LoadSimulation(args);
+            } catch (IllegalArgumentException ex) {
+                System.err.println("--simulate: " + ex.getMessage());
+                System.err.println("options: students= events= seats= threads= ops= hot= seed= mix=login:20,register:50,publish:5,calendar:25 out= data=");
+                return 2;
+            }
+            try {
+                return sim.execute();
+            } catch (IOException ex) {
+                System.err.println("--simulate: " + ex.getMessage());
+                return 2;
+            }
+        }
+
+        private int execute() throws IOException {
+            if (data != null) journal = Journal.open(data);
+            long s0 = System.nanoTime();
+            seed();
+            System.out.printf("Model: %d users, %d events (seeded in %d ms)%n", users.size(), events.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - s0));
+
+            Samples[][] samples = new Samples[threads][];
+            CountDownLatch start = new CountDownLatch(1);
+            Thread[] workers = new Thread[threads];
+            for (int w = 0; w < threads; w++) {
+                int worker = w, n = ops / threads + (w < ops % threads ? 1 : 0);
+                samples[w] = new Samples[Op.values().length];
+                for (int o = 0; o < samples[w].length; o++) samples[w][o] = new Samples();
+                workers[w] = new Thread(() -> work(worker, n, samples[worker], start), "simulate-" + w);
+                workers[w].start();
+            }
+            long t0 = System.nanoTime();
+            start.countDown();
+            for (Thread t : workers) {
+                try {
+                    t.join();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return 1;
+                }
+            }
+            long wall = System.nanoTime() - t0;
+            if (journal != null) journal.close();
+            int errors = report(samples, wall);
+            return errors == 0 && seatsConsistent() ? 0 : 1;
+        }
+
+        // main()'s sample data, then the generated students and events
+        private void seed() {
+            if (users.size() == 0) seedDefaults();
+            firstStudent = users.size();
+            ArrayList<User> batch = new ArrayList<>(students);
+            for (int i = 0; i < students; i++) {
+                batch.add(new User("sim" + i, "pw" + i, "Student", "Sim Student " + i, DEPARTMENTS[i % DEPARTMENTS.length]));
+            }
+            if (addUsers(batch) != students) throw new IllegalStateException("simulation students already exist; use an empty data dir");
+            firstEvent = events.size();
+            for (int i = 0; i < eventCount; i++) {
+                int start = 9 * 60 + (i % 4) * 3 * 60;
+                addEvent(new Event("Sim Event " + i, "Sim Hall " + (i % 10), LocalDate.of(2025, 1, 1).plusDays(i % 365),
+                        start, start + 2 * 60, seats));
+            }
+            for (Event ev : events) {
+                if (ev.name.equals(HOT_EVENT)) hotEvent = ev;
+            }
+            if (hotEvent == null) hotEvent = events.get(firstEvent);
+        }
+
+        private void work(int worker, int n, Samples[] mine, CountDownLatch start) {
+            SplittableRandom rnd = new SplittableRandom(seed + worker);
+            YearMonth first = YearMonth.of(2025, 1);
+            int total = Arrays.stream(weights).sum();
+            try {
+                start.await();
+            } catch (InterruptedException ex) {
+                return;
+            }
+            for (int i = 0; i < n; i++) {
+                int pick = rnd.nextInt(total), o = 0;
+                while (pick >= weights[o]) pick -= weights[o++];
+                Op op = Op.values()[o];
+                User u = users.get(firstStudent + rnd.nextInt(students));
+                Event ev = rnd.nextDouble() < hot ? hotEvent : events.get(firstEvent + rnd.nextInt(eventCount));
+                YearMonth month = first.plusMonths(rnd.nextInt(12));
+                String position = POSITIONS[rnd.nextInt(POSITIONS.length)];
+                Samples sm = mine[o];
+                long t0 = System.nanoTime();
+                try {
+                    boolean ok = switch (op) {
+                        case LOGIN -> login(u.username, u.password, "Student") != null;
+                        case REGISTER -> register(ev, u);
+                        case PUBLISH -> {
+                            publishResult(new Result(ev.name, u.fullName, u.department, position));
+                            yield true;
+                        }
+                        case CALENDAR -> events.countsForMonth(month).length > 0;
+                    };
+                    if (!ok) sm.rejected++;
+                } catch (RuntimeException ex) {
+                    sm.errors++;
+                }
+                sm.add(System.nanoTime() - t0);
+            }
+        }
+
+        // Prints the table, appends the CSV rows; returns the number of operations that threw
+        private int report(Samples[][] samples, long wallNanos) throws IOException {
+            String run = Instant.now().truncatedTo(ChronoUnit.SECONDS).toString();
+            double seconds = wallNanos / 1e9;
+            StringBuilder csv = new StringBuilder();
+            System.out.printf("%n%d operations on %d threads in %.2f s (%.0f ops/s)%n%n", ops, threads, seconds, ops / seconds);
+            System.out.printf("%-10s %9s %9s %7s %11s %9s %9s %9s %9s%n",
+                    "operation", "count", "rejected", "errors", "ops/s", "p50 us", "p99 us", "p999 us", "max us");
+            int errors = 0;
+            for (Op op : Op.values()) {
+                int count = 0;
+                long rejected = 0, failed = 0;
+                for (Samples[] w : samples) {
+                    count += w[op.ordinal()].size;
+                    rejected += w[op.ordinal()].rejected;
+                    failed += w[op.ordinal()].errors;
+                }
+                if (count == 0) continue;
+                long[] all = new long[count];
+                int at = 0;
+                for (Samples[] w : samples) {
+                    Samples sm = w[op.ordinal()];
+                    System.arraycopy(sm.nanos, 0, all, at, sm.size);
+                    at += sm.size;
+                }
+                Arrays.sort(all);
+                double p50 = micros(all, 0.50), p99 = micros(all, 0.99), p999 = micros(all, 0.999), max = all[count - 1] / 1e3;
+                String name = op.name().toLowerCase(Locale.ROOT);
+                System.out.printf("%-10s %9d %9d %7d %11.0f %9.1f %9.1f %9.1f %9.1f%n",
+                        name, count, rejected, failed, count / seconds, p50, p99, p999, max);
+                csv.append(String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%d,%d,%d,%d,%.3f,%d%n",
+                        run, name, count, rejected, failed, count / seconds, p50, p99, p999, max,
+                        students, eventCount, seats, threads, hot, seed));
+                errors += failed;
+            }
+            System.out.printf("%n%s: %d/%d seats booked, %d waiting%n", hotEvent.name, hotEvent.bookedSeats,
+                    hotEvent.totalSeats, waitlist.size(hotEvent.id));
+
+            boolean fresh = !Files.exists(out) || Files.size(out) == 0;
+            Files.writeString(out, (fresh ? CSV_HEADER : "") + csv, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            System.out.println("Summary appended to " + out.toAbsolutePath());
+            return errors;
+        }
+
+        // Sample at quantile q of sorted nanos, in microseconds
+        private static double micros(long[] sorted, double q) {
+            return sorted[(int) Math.max(0, Math.ceil(q * sorted.length) - 1)] / 1e3;
+        }
+
+        // Every booked seat must belong to exactly one ledger entry, and no event may be oversold
+        private static boolean seatsConsistent() {
+            int bad = 0;
+            for (Event ev : events) {
+                if (ev.bookedSeats > ev.totalSeats || ev.bookedSeats != registrations.attendees(ev.id).length) bad++;
+            }
+            System.out.println(bad == 0 ? "Seat check: ok" : "Seat check: " + bad + " events disagree with the ledger");
+            return bad == 0;
+        }
+    }
+
+    // -------------------- Latency histogram --------------------
+    // Log2 buckets of microseconds; percentiles are a bucket's upper bound.
+    static class LatencyHistogram implements LatencyMXBean {
+        private static final int BUCKETS = 40;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        // Two uncontended adds on the common path; the count is the bucket sum
+        void record(long nanos) {
+            long micros = Math.max(0, nanos / 1_000);
+            buckets.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros)));
+            totalNanos.add(nanos);
+            if (nanos > maxNanos.get()) maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        long count() {
+            long n = 0;
+            for (int i = 0; i < BUCKETS; i++) n += buckets.get(i);
+            return n;
+        }
+
+        double meanMillis() {
+            long n = count();
+            return n == 0 ? 0 : totalNanos.sum() / 1e6 / n;
+        }
+
+        double maxMillis() {
+            return maxNanos.get() / 1e6;
+        }
+
+        // JMX view
+        @Override public long getCount() { return count(); }
+        @Override public double getMeanMillis() { return meanMillis(); }
+        @Override public double getP50Millis() { return percentileMillis(0.50); }
+        @Override public double getP99Millis() { return percentileMillis(0.99); }
+        @Override public double getMaxMillis() { return maxMillis(); }
+
+        // p in (0, 1], e.g. 0.99
+        double percentileMillis(double p) {
+            long n = count();
+            if (n == 0) return 0;
+            long rank = (long) Math.ceil(p * n), seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets.get(i);
+                if (seen >= rank) return (1L << i) / 1e3;
+            }
+            return maxMillis();
+        }
+    }
+
+    // -------------------- EDT instrumentation --------------------
+    // Times every EDT dispatch (minus nested modal loops) per button, and reports
+    // dispatches longer than -Dsmartevent.stallMs (default 100) with the EDT stack.
+    // -Dsmartevent.latencyDump=<file> writes the report on exit.
+    static class EdtMonitor extends EventQueue {
+        static final long STALL_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("smartevent.stallMs", 100));
+        static final int MAX_STALLS = 50;
+
+        private static volatile EdtMonitor instance;
+
+        // Added to every styled button; names the dispatch it fires in
+        static final ActionListener ACTION_MARKER = e -> {
+            EdtMonitor m = instance;
+            Dispatch d = m == null ? null : m.top;
+            if (d != null && e.getSource() instanceof AbstractButton b) d.action = b.getText();
+        };
+
+        private static class Dispatch {
+            final Dispatch parent;
+            final AWTEvent event;
+            final long start;
+            volatile long excluded; // nested-loop idle time and nested dispatches
+            volatile String action;
+            volatile boolean reported;
+
+            Dispatch(Dispatch parent, AWTEvent event, long start) {
+                this.parent = parent;
+                this.event = event;
+                this.start = start;
+            }
+        }
+
+        private final ConcurrentHashMap<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+        private final ArrayDeque<String> stalls = new ArrayDeque<>();
+        private volatile Dispatch top;
+        private volatile boolean waiting;
+        private volatile Thread edt;
+
+        static void install() {
+            EdtMonitor m = new EdtMonitor();
+            Toolkit.getDefaultToolkit().getSystemEventQueue().push(m);
+            instance = m;
+            Thread watchdog = new Thread(m::watch, "edt-watchdog");
+            watchdog.setDaemon(true);
+            watchdog.start();
+            String dump = System.getProperty("smartevent.latencyDump");
+            if (dump != null) {
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        Files.writeString(Path.of(dump), m.report(), StandardCharsets.UTF_8);
+                    } catch (IOException ex) {
+                        System.err.println("Could not write latency dump: " + ex.getMessage());
+                    }
+                }, "latency-dump"));
+            }
+        }
+
+        // Report text, or a note that the monitor isn't running
+        static String currentReport() {
+            EdtMonitor m = instance;
+            return m == null ? "EDT instrumentation is not installed." : m.report();
+        }
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            edt = Thread.currentThread();
+            Dispatch d = new Dispatch(top, event, System.nanoTime());
+            top = d;
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                long elapsed = System.nanoTime() - d.start;
+                top = d.parent;
+                if (d.parent != null) d.parent.excluded += elapsed;
+                if (d.action != null) histograms.computeIfAbsent(d.action, k -> new LatencyHistogram()).record(elapsed - d.excluded);
+            }
+        }
+
+        @Override
+        public AWTEvent getNextEvent() throws InterruptedException {
+            long t = System.nanoTime();
+            waiting = true;
+            try {
+                return super.getNextEvent();
+            } finally {
+                waiting = false;
+                Dispatch d = top;
+                if (d != null) d.excluded += System.nanoTime() - t;
+            }
+        }
+
+        private void watch() {
+            long period = Math.max(TimeUnit.MILLISECONDS.toNanos(10), STALL_NANOS / 4);
+            while (true) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(period);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+                Dispatch d = top;
+                if (d == null || waiting || d.reported) continue;
+                long busy = System.nanoTime() - d.start - d.excluded;
+                if (busy < STALL_NANOS) continue;
+                d.reported = true;
+                StringBuilder sb = new StringBuilder();
+                sb.append(LocalTime.now().withNano(0)).append("  ").append(label(d))
+                  .append(" busy ").append(TimeUnit.NANOSECONDS.toMillis(busy)).append(" ms\n");
+                Thread t = edt;
+                if (t != null) {
+                    for (StackTraceElement el : t.getStackTrace()) sb.append("    at ").append(el).append('\n');
+                }
+                String report = sb.toString();
+                System.err.print("EDT stall: " + report);
+                synchronized (stalls) {
+                    if (stalls.size() == MAX_STALLS) stalls.removeFirst();
+                    stalls.addLast(report);
+                }
+            }
+        }
+
+        private static String label(Dispatch d) {
+            if (d.action != null) return d.action;
+            if (d.event.getSource() instanceof AbstractButton b) return b.getText();
+            return d.event.getClass().getSimpleName();
+        }
+
+        String report() {
+            StringBuilder sb = new StringBuilder("=== EDT ACTION LATENCY (ms) ===\n\n");
+            sb.append("Action | count | mean | p50 | p99 | max\n");
+            ArrayList<String> names = new ArrayList<>(histograms.keySet());
+            Collections.sort(names);
+            for (String name : names) {
+                LatencyHistogram h = histograms.get(name);
+                sb.append(name).append(" | ").append(h.count())
+                  .append(String.format(" | %.2f | <%.2f | <%.2f | %.2f%n",
+                          h.meanMillis(), h.percentileMillis(0.50), h.percentileMillis(0.99), h.maxMillis()));
+            }
+            if (names.isEmpty()) sb.append("No actions recorded yet.\n");
+            sb.append("\n=== EDT STALLS (> ").append(TimeUnit.NANOSECONDS.toMillis(STALL_NANOS)).append(" ms) ===\n\n");
+            synchronized (stalls) {
+                if (stalls.isEmpty()) sb.append("None.\n");
+                for (String st : stalls) sb.append(st).append('\n');
+            }
+            return sb.toString();
+        }
+    }
+
+    // -------------------- Metrics --------------------
+    // Counters and latency histograms published as "smartevent:*" MXBeans.
+    // -Dsmartevent.metricsDump=<file.csv> appends a row every
+    // -Dsmartevent.metricsEverySec (default 60) seconds.
+    public interface LatencyMXBean {
+        long getCount();
+        double getMeanMillis();
+        double getP50Millis();
+        double getP99Millis();
+        double getMaxMillis();
+    }
+
+    public interface MetricsMXBean {
+        long getLoginSuccesses();
+        long getLoginFailures();
+        long getRegistrations();
+        long getFullRejections();
+        long getDuplicateRejections();
+        long getWaitlistJoins();
+        long getWaitlistPromotions();
+        long getResultsPublished();
+        int getUsers();
+        int getEvents();
+        int getResults();
+        long getRegistered();
+        long getWaitlisted();
+        double getSeatUtilisation();
+        int getFullEvents();
+        int[] getUtilisationDeciles();
+        double eventSeatUtilisation(int eventId);
+        String report();
+    }
+
+    static class Metrics implements MetricsMXBean {
+        static final Metrics bean = new Metrics();
+        static final int SAMPLE_MASK = 15; // hot-path latencies: 1 call in 16 is timed
+
+        static final LongAdder loginSuccesses = new LongAdder();
+        static final LongAdder loginFailures = new LongAdder();
+        static final LongAdder registrations = new LongAdder();
+        static final LongAdder fullRejections = new LongAdder();
+        static final LongAdder duplicateRejections = new LongAdder();
+        static final LongAdder waitlistJoins = new LongAdder();
+        static final LongAdder waitlistPromotions = new LongAdder();
+        static final LongAdder resultsPublished = new LongAdder();
+
+        static final LatencyHistogram login = new LatencyHistogram();
+        static final LatencyHistogram register = new LatencyHistogram();
+        static final LatencyHistogram calendarOpen = new LatencyHistogram();
+        static final LatencyHistogram calendarPaint = new LatencyHistogram();
+        static final LatencyHistogram eventList = new LatencyHistogram();
+        static final LatencyHistogram dashboardBuild = new LatencyHistogram(); // first open per role
+        static final LatencyHistogram dashboardReuse = new LatencyHistogram(); // later logins
+
+        private static final String[] LATENCY_NAMES = {"login", "register", "calendarOpen", "calendarPaint", "eventList",
+                "dashboardBuild", "dashboardReuse"};
+        private static final LatencyHistogram[] LATENCIES = {login, register, calendarOpen, calendarPaint, eventList,
+                dashboardBuild, dashboardReuse};
+
+        // Registers the MXBeans and starts the CSV dump if asked for
+        static void install() {
+            try {
+                MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+                server.registerMBean(bean, new ObjectName("smartevent:type=Metrics"));
+                for (int i = 0; i < LATENCIES.length; i++) {
+                    server.registerMBean(LATENCIES[i], new ObjectName("smartevent:type=Latency,name=" + LATENCY_NAMES[i]));
+                }
+            } catch (JMException ex) {
+                System.err.println("Metrics not published over JMX: " + ex.getMessage());
+            }
+            String dump = System.getProperty("smartevent.metricsDump");
+            if (dump != null) {
+                long every = Math.max(1, Long.getLong("smartevent.metricsEverySec", 60));
+                ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread t = new Thread(r, "metrics-dump");
+                    t.setDaemon(true);
+                    return t;
+                });
+                timer.scheduleAtFixedRate(() -> appendCsv(Path.of(dump)), every, every, TimeUnit.SECONDS);
+            }
+        }
+
+        static void appendCsv(Path file) {
+            try {
+                boolean fresh = !Files.exists(file) || Files.size(file) == 0;
+                StringBuilder sb = new StringBuilder(256);
+                if (fresh) {
+                    sb.append("time,loginOk,loginFail,registrations,fullRejections,duplicateRejections,waitlistJoins,promotions,")
+                      .append("resultsPublished,users,events,results,registered,waitlisted,seatUtilisation,fullEvents");
+                    for (String name : LATENCY_NAMES) sb.append(',').append(name).append("Count,").append(name).append("P99Ms");
+                    sb.append('\n');
+                }
+                Metrics m = bean;
+                sb.append(Instant.now()).append(',').append(m.getLoginSuccesses()).append(',').append(m.getLoginFailures())
+                  .append(',').append(m.getRegistrations()).append(',').append(m.getFullRejections())
+                  .append(',').append(m.getDuplicateRejections()).append(',').append(m.getWaitlistJoins())
+                  .append(',').append(m.getWaitlistPromotions()).append(',').append(m.getResultsPublished())
+                  .append(',').append(m.getUsers()).append(',').append(m.getEvents()).append(',').append(m.getResults())
+                  .append(',').append(m.getRegistered()).append(',').append(m.getWaitlisted())
+                  .append(',').append(String.format(Locale.ROOT, "%.4f", m.getSeatUtilisation())).append(',').append(m.getFullEvents());
+                for (LatencyHistogram h : LATENCIES) {
+                    sb.append(',').append(h.count()).append(',').append(String.format(Locale.ROOT, "%.3f", h.percentileMillis(0.99)));
+                }
+                Files.writeString(file, sb.append('\n'), StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            } catch (IOException ex) {
+                System.err.println("Could not write metrics dump: " + ex.getMessage());
+            }
+        }
+
+        @Override public long getLoginSuccesses() { return loginSuccesses.sum(); }
+        @Override public long getLoginFailures() { return loginFailures.sum(); }
+        @Override public long getRegistrations() { return registrations.sum(); }
+        @Override public long getFullRejections() { return fullRejections.sum(); }
+        @Override public long getDuplicateRejections() { return duplicateRejections.sum(); }
+        @Override public long getWaitlistJoins() { return waitlistJoins.sum(); }
+        @Override public long getWaitlistPromotions() { return waitlistPromotions.sum(); }
+        @Override public long getResultsPublished() { return resultsPublished.sum(); }
+        @Override public int getUsers() { return users.size(); }
+        @Override public int getEvents() { return events.size(); }
+        @Override public int getResults() { return results.size(); }
+        @Override public long getRegistered() { return SmartEventOrganizerSwing.registrations.total(); }
+        @Override public long getWaitlisted() { return waitlist.total(); }
+
+        // Booked / total over every event
+        @Override
+        public double getSeatUtilisation() {
+            long booked = 0, total = 0;
+            for (int i = 0, n = events.size(); i < n; i++) {
+                Event ev = events.get(i);
+                booked += ev.bookedSeats;
+                total += ev.totalSeats;
+            }
+            return total == 0 ? 0 : booked / (double) total;
+        }
+
+        @Override
+        public int getFullEvents() {
+            int full = 0;
+            for (int i = 0, n = events.size(); i < n; i++) {
+                if (events.get(i).freeSeats() == 0) full++;
+            }
+            return full;
+        }
+
+        // Events per utilisation band: [0] = under 10% booked ... [9] = 90% or more, [10] = full
+        @Override
+        public int[] getUtilisationDeciles() {
+            int[] bands = new int[11];
+            for (int i = 0, n = events.size(); i < n; i++) {
+                Event ev = events.get(i);
+                if (ev.freeSeats() == 0) bands[10]++;
+                else bands[Math.min(9, (int) (10L * ev.bookedSeats / Math.max(1, ev.totalSeats)))]++;
+            }
+            return bands;
+        }
+
+        @Override
+        public double eventSeatUtilisation(int eventId) {
+            Event ev = events.get(eventId);
+            return ev.totalSeats == 0 ? 1 : ev.bookedSeats / (double) ev.totalSeats;
+        }
+
+        @Override
+        public String report() {
+            StringBuilder sb = new StringBuilder("=== METRICS ===\n\n");
+            sb.append("Logins ok/failed: ").append(getLoginSuccesses()).append(" / ").append(getLoginFailures()).append('\n');
+            sb.append("Registrations: ").append(getRegistrations()).append("  (rejected full: ").append(getFullRejections())
+              .append(", duplicate: ").append(getDuplicateRejections()).append(")\n");
+            sb.append("Waitlist joins/promotions: ").append(getWaitlistJoins()).append(" / ").append(getWaitlistPromotions()).append('\n');
+            sb.append("Results published: ").append(getResultsPublished()).append('\n');
+            sb.append("Users / events / results: ").append(getUsers()).append(" / ").append(getEvents()).append(" / ").append(getResults()).append('\n');
+            sb.append("Registered / waitlisted: ").append(getRegistered()).append(" / ").append(getWaitlisted()).append('\n');
+            sb.append(String.format("Seat utilisation: %.1f%%  (%d full events)%n", 100 * getSeatUtilisation(), getFullEvents()));
+            sb.append("Utilisation deciles (0-10% ... 90-100%, full): ").append(Arrays.toString(getUtilisationDeciles())).append("\n\n");
+            sb.append("Timing | count | mean | p50 | p99 | max (ms)\n");
+            for (int i = 0; i < LATENCIES.length; i++) {
+                LatencyHistogram h = LATENCIES[i];
+                sb.append(LATENCY_NAMES[i]).append(" | ").append(h.count())
+                  .append(String.format(" | %.2f | <%.2f | <%.2f | %.2f%n",
+                          h.meanMillis(), h.percentileMillis(0.50), h.percentileMillis(0.99), h.maxMillis()));
+            }
+            return sb.toString();
+        }
+    }
+
+    // -------------------- Service layer --------------------
+    // Dashboard queries run on a background pool and come back as futures;
+    // onEdt() hands the value to Swing. Identical in-flight requests share one.
+    static class Services {
+        private static final ExecutorService pool = Executors.newFixedThreadPool(
+                Math.max(2, Runtime.getRuntime().availableProcessors()), r -> {
+                    Thread t = new Thread(r, "service");
+                    t.setDaemon(true);
+                    return t;
+                });
+        private static final ConcurrentHashMap<String, CompletableFuture<?>> inFlight = new ConcurrentHashMap<>();
+
+        static CompletableFuture<String> resultsText(String eventName) {
+            return coalesce("results:" + eventName + "@" + resultsVersion.get(), () -> SmartEventOrganizerSwing.resultsText(eventName));
+        }
+
+        static CompletableFuture<String> departmentStandings() {
+            return coalesce("standings@" + resultsVersion.get(), SmartEventOrganizerSwing::departmentStandings);
+        }
+
+        static CompletableFuture<int[]> monthCounts(YearMonth month) {
+            return coalesce("month:" + month + "@" + eventsVersion.get(), () -> events.countsForMonth(month));
+        }
+
+        static CompletableFuture<String> myEventsText(User student) {
+            return coalesce("myEvents:" + student.id + "@" + eventsVersion.get(), () -> SmartEventOrganizerSwing.myEventsText(student));
+        }
+
+        static CompletableFuture<String> attendeesText(Event ev, Event also) {
+            return coalesce("attendees:" + ev.id + "," + (also == null ? -1 : also.id) + "@" + eventsVersion.get(),
+                    () -> SmartEventOrganizerSwing.attendeesText(ev, also));
+        }
+
+        static CompletableFuture<String> freeSlotsText(String location, LocalDate from) {
+            return coalesce("slots:" + EventStore.venueKey(location) + ":" + from + "@" + eventsVersion.get(),
+                    () -> SmartEventOrganizerSwing.freeSlotsText(location, from, 7));
+        }
+
+        static CompletableFuture<Integer> exportAttendees(Event ev, Event also, File file) {
+            return CompletableFuture.supplyAsync(() -> {
+                int[] ids = attendeeIds(ev, also);
+                try (BufferedWriter w = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                    w.write("username,full name,department\n");
+                    for (int id : ids) {
+                        User u = users.get(id);
+                        w.write(csv(u.username) + "," + csv(u.fullName) + "," + csv(u.department) + "\n");
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+                return ids.length;
+            }, pool);
+        }
+
+        // Aggregates one snapshot of the stores, then streams the CSV; returns the rows written
+        static CompletableFuture<Long> writeReport(ReportEngine.Kind kind, File file) {
+            return CompletableFuture.supplyAsync(() -> {
+                try (BufferedWriter w = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+                    return ReportEngine.write(kind, ReportEngine.aggregate(), w);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }, pool);
+        }
+
+        static CompletableFuture<Boolean> usernameTaken(String username) {
+            return CompletableFuture.supplyAsync(() -> users.exists(username), pool);
+        }
+
+        // Runs ui on the EDT with the value, or reports the failure there
+        static <T> void onEdt(CompletableFuture<T> future, Consumer<T> ui) {
+            future.whenComplete((value, err) -> SwingUtilities.invokeLater(() -> {
+                if (err == null) {
+                    ui.accept(value);
+                } else {
+                    Throwable cause = err instanceof CompletionException && err.getCause() != null ? err.getCause() : err;
+                    cause.printStackTrace();
+                    JOptionPane.showMessageDialog(null, "Something went wrong: " + cause, "Error", JOptionPane.ERROR_MESSAGE);
+                }
+            }));
+        }
+
+        // Runs query in the background, sharing any in-flight run with the same key
+        @SuppressWarnings("unchecked")
+        static <T> CompletableFuture<T> coalesce(String key, Supplier<T> query) {
+            CompletableFuture<T> f = (CompletableFuture<T>) inFlight.computeIfAbsent(key,
+                    k -> CompletableFuture.supplyAsync(query, pool));
+            f.whenComplete((v, err) -> inFlight.remove(key, f));
+            return f;
+        }
+    }
+
+    // -------------------- Report engine --------------------
+    // Department, event and month reports as CSV, tallied in parallel from one
+    // immutable snapshot of each store; rows are written from that same snapshot.
+    static class ReportEngine {
+        enum Kind { DEPARTMENTS, EVENTS, MONTHS }
+
+        static final int BANDS = 4; // ResultStore.GOLD .. OTHER
+
+        // Mergeable accumulator for the result pass
+        static final class Tally {
+            final int[] byEvent;      // eventId * BANDS + band
+            final int[] byDepartment; // department code * BANDS + band
+            int unmatched;            // results naming no known event
+
+            Tally(int events, int departments) {
+                byEvent = new int[events * BANDS];
+                byDepartment = new int[departments * BANDS];
+            }
+
+            void merge(Tally other) {
+                for (int i = 0; i < byEvent.length; i++) byEvent[i] += other.byEvent[i];
+                for (int i = 0; i < byDepartment.length; i++) byDepartment[i] += other.byDepartment[i];
+                unmatched += other.unmatched;
+            }
+        }
+
+        // Everything the three reports need, from one pass over each store; byEvent
+        // is indexed like events, departments and registrationsByDept by department slot
+        record Totals(List<Event> events, Tally results, List<String> departments, long[] registrationsByDept) {}
+
+        static Totals aggregate() {
+            List<Event> evs = events.snapshot();
+            ResultStore.Snapshot rs = results.snapshot(); // before the dictionaries, so they cover every row
+            int nEvents = evs.size();
+            ResultStore.Dictionary names = results.eventNames(), depts = results.departments();
+
+            // result event-name code -> first event with that name
+            HashMap<String, Integer> eventByName = new HashMap<>();
+            for (int i = nEvents - 1; i >= 0; i--) eventByName.put(evs.get(i).name, i);
+            int[] eventOfCode = new int[names.size()];
+            for (int c = 0; c < eventOfCode.length; c++) eventOfCode[c] = eventByName.getOrDefault(names.value(c), -1);
+
+            int nDeptCodes = depts.size();
+            Tally tally = IntStream.range(0, rs.size()).parallel().collect(
+                    () -> new Tally(nEvents, nDeptCodes),
+                    (t, row) -> {
+                        int band = rs.medalAt(row);
+                        int ev = eventOfCode[rs.eventCodeAt(row)];
+                        if (ev >= 0) t.byEvent[ev * BANDS + band]++;
+                        else t.unmatched++;
+                        t.byDepartment[rs.departmentCodeAt(row) * BANDS + band]++;
+                    },
+                    Tally::merge);
+
+            // Department slots: result departments first (slot == code), then any only seen on users
+            ArrayList<String> departments = new ArrayList<>(nDeptCodes);
+            HashMap<String, Integer> slotOf = new HashMap<>();
+            for (int c = 0; c < nDeptCodes; c++) {
+                departments.add(depts.value(c));
+                slotOf.put(depts.value(c), c);
+            }
+            List<User> us = users.snapshot();
+            int[] userSlot = new int[us.size()];
+            for (int i = 0; i < userSlot.length; i++) {
+                String d = us.get(i).department;
+                Integer slot = slotOf.get(d);
+                if (slot == null) {
+                    slot = departments.size();
+                    departments.add(d);
+                    slotOf.put(d, slot);
+                }
+                userSlot[i] = slot;
+            }
+            int nSlots = departments.size();
+            long[] registered = IntStream.range(0, nEvents).parallel().collect(
+                    () -> new long[nSlots],
+                    (acc, ev) -> {
+                        for (int student : registrations.view(ev)) { // no lock once cached
+                            if (student < userSlot.length) acc[userSlot[student]]++;
+                        }
+                    },
+                    (a, b) -> {
+                        for (int i = 0; i < a.length; i++) a[i] += b[i];
+                    });
+            return new Totals(evs, tally, departments, registered);
+        }
+
+        // Returns the number of data rows written
+        static long write(Kind kind, Totals totals, Writer out) throws IOException {
+            return switch (kind) {
+                case DEPARTMENTS -> writeDepartments(totals, out);
+                case EVENTS -> writeEvents(totals, out);
+                case MONTHS -> writeMonths(totals, out);
+            };
+        }
+
+        // Medal-table order, like the standings view
+        private static long writeDepartments(Totals t, Writer out) throws IOException {
+            out.write("department,results,gold,silver,bronze,other,registrations\n");
+            int[] d = t.results().byDepartment;
+            int n = t.departments().size();
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) order[i] = i;
+            Arrays.sort(order, (a, b) -> {
+                for (int band = 0; band < BANDS; band++) {
+                    int c = Integer.compare(band(d, b, band), band(d, a, band));
+                    if (c != 0) return c;
+                }
+                return t.departments().get(a).compareTo(t.departments().get(b));
+            });
+            StringBuilder row = new StringBuilder(96);
+            for (int slot : order) {
+                row.setLength(0);
+                row.append(csv(t.departments().get(slot)));
+                appendBands(row, d, slot);
+                row.append(',').append(t.registrationsByDept()[slot]).append('\n');
+                out.append(row);
+            }
+            return n;
+        }
+
+        private static long writeEvents(Totals t, Writer out) throws IOException {
+            out.write("id,event,date,location,seats,booked,waitlisted,results,gold,silver,bronze,other\n");
+            StringBuilder row = new StringBuilder(128);
+            int n = t.events().size();
+            for (int i = 0; i < n; i++) {
+                Event ev = t.events().get(i);
+                row.setLength(0);
+                row.append(ev.id).append(',').append(csv(ev.name)).append(',').append(ev.date)
+                   .append(',').append(csv(ev.location)).append(',').append(ev.totalSeats)
+                   .append(',').append(ev.bookedSeats).append(',').append(waitlistSize(ev));
+                appendBands(row, t.results().byEvent, i);
+                out.append(row.append('\n'));
+            }
+            return n;
+        }
+
+        private static long writeMonths(Totals t, Writer out) throws IOException {
+            out.write("month,events,seats,booked,utilisation,results,gold,silver,bronze,other\n");
+            TreeMap<YearMonth, long[]> months = new TreeMap<>(); // events, seats, booked, then the bands
+            int[] e = t.results().byEvent;
+            for (int i = 0, n = t.events().size(); i < n; i++) {
+                Event ev = t.events().get(i);
+                long[] m = months.computeIfAbsent(YearMonth.from(ev.date), k -> new long[3 + BANDS]);
+                m[0]++;
+                m[1] += ev.totalSeats;
+                m[2] += ev.bookedSeats;
+                for (int band = 0; band < BANDS; band++) m[3 + band] += e[i * BANDS + band];
+            }
+            StringBuilder row = new StringBuilder(96);
+            for (Map.Entry<YearMonth, long[]> entry : months.entrySet()) {
+                long[] m = entry.getValue();
+                long total = 0;
+                for (int band = 0; band < BANDS; band++) total += m[3 + band];
+                row.setLength(0);
+                row.append(entry.getKey()).append(',').append(m[0]).append(',').append(m[1]).append(',').append(m[2])
+                   .append(',').append(String.format(Locale.ROOT, "%.3f", m[1] == 0 ? 0 : m[2] / (double) m[1]))
+                   .append(',').append(total);
+                for (int band = 0; band < BANDS; band++) row.append(',').append(m[3 + band]);
+                out.append(row.append('\n'));
+            }
+            return months.size();
+        }
+
+        // Departments only seen on users have no result tally
+        private static int band(int[] tally, int slot, int band) {
+            int i = slot * BANDS + band;
+            return i < tally.length ? tally[i] : 0;
+        }
+
+        // ",total,gold,silver,bronze,other"
+        private static void appendBands(StringBuilder row, int[] tally, int slot) {
+            int total = 0;
+            for (int band = 0; band < BANDS; band++) total += band(tally, slot, band);
+            row.append(',').append(total);
+            for (int band = 0; band < BANDS; band++) row.append(',').append(band(tally, slot, band));
+        }
+    }
+
+    // -------------------- Table views --------------------
+    // Paged table model reading rows from a store by position; sorting builds a
+    // row order in the background.
+    @SuppressWarnings("serial")
+    static class StoreTableModel<T> extends AbstractTableModel {
+        static final int PAGE_SIZE = 1000;
+
+        record Column<T>(String name, Function<T, Comparable<?>> value) {}
+
+        private final String key;
+        private final IntFunction<T> rowAt;
+        private final IntSupplier size;
+        private final List<Column<T>> columns;
+        private final AtomicLong version;
+
+        private int rows;         // store size when last refreshed
+        private int page;
+        private int[] order;      // null = store order; may trail rows until a re-sort lands
+        private int sortColumn = -1;
+        private boolean ascending = true;
+
+        StoreTableModel(String key, IntFunction<T> rowAt, IntSupplier size, AtomicLong version, List<Column<T>> columns) {
+            this.key = key;
+            this.rowAt = rowAt;
+            this.size = size;
+            this.version = version;
+            this.columns = columns;
+        }
+
+        // Picks up rows added since the last call; re-sorts if a sort is active
+        void refresh() {
+            rows = size.getAsInt();
+            page = Math.min(page, Math.max(0, pageCount() - 1));
+            if (sortColumn >= 0) sort(sortColumn, ascending);
+            else fireTableDataChanged();
+        }
+
+        // Clicking the sorted column again flips the direction
+        void toggleSort(int column) {
+            sort(column, column == sortColumn ? !ascending : true);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private void sort(int column, boolean asc) {
+            sortColumn = column;
+            ascending = asc;
+            int n = rows;
+            Function<T, Comparable<?>> value = columns.get(column).value();
+            Services.coalesce(key + ":sort" + column + (asc ? "+" : "-") + n + "@" + version.get(), () -> {
+                Comparable[] keys = new Comparable[n];
+                Integer[] idx = new Integer[n];
+                for (int i = 0; i < n; i++) {
+                    keys[i] = value.apply(rowAt.apply(i));
+                    idx[i] = i;
+                }
+                Arrays.sort(idx, (a, b) -> asc ? keys[a].compareTo(keys[b]) : keys[b].compareTo(keys[a]));
+                int[] out = new int[n];
+                for (int i = 0; i < n; i++) out[i] = idx[i];
+                return out;
+            }).thenAccept(sorted -> SwingUtilities.invokeLater(() -> {
+                if (sortColumn != column || ascending != asc || sorted.length != rows) return; // superseded
+                order = sorted;
+                fireTableStructureChanged(); // header text shows the sort arrow
+            }));
+        }
+
+        int pageCount() {
+            return Math.max(1, (visibleRows() + PAGE_SIZE - 1) / PAGE_SIZE);
+        }
+
+        int page() {
+            return page;
+        }
+
+        int totalRows() {
+            return visibleRows();
+        }
+
+        private int visibleRows() {
+            return order != null ? order.length : rows;
+        }
+
+        void setPage(int p) {
+            page = Math.max(0, Math.min(p, pageCount() - 1));
+            fireTableDataChanged();
+        }
+
+        @Override
+        public int getRowCount() {
+            return Math.max(0, Math.min(PAGE_SIZE, visibleRows() - page * PAGE_SIZE));
+        }
+
+        @Override
+        public int getColumnCount() {
+            return columns.size();
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            String name = columns.get(column).name();
+            return column == sortColumn ? name + (ascending ? " ▲" : " ▼") : name;
+        }
+
+        @Override
+        public Object getValueAt(int row, int column) {
+            int i = page * PAGE_SIZE + row;
+            return columns.get(column).value().apply(rowAt.apply(order == null ? i : order[i]));
+        }
+    }
+
+    // Dashboard centre: the text area used for reports, or a paged table for the
+    // event/user lists, switched with a CardLayout
+    @SuppressWarnings("serial")
+    static class DataView extends JPanel {
+        private final CardLayout cards = new CardLayout();
+        private final JTextArea area = new JTextArea();
+        private final JTable table = new JTable();
+        private final JLabel pageLabel = new JLabel("", SwingConstants.CENTER);
+        private StoreTableModel<?> model;
+        private final TableModelListener pageListener = e -> updatePageLabel();
+        private final StoreTableModel<Event> eventModel = new StoreTableModel<>("events", i -> events.get(i), () -> events.size(), eventsVersion, List.of(
+                new StoreTableModel.Column<>("#", ev -> ev.id + 1),
+                new StoreTableModel.Column<>("Event", ev -> ev.name),
+                new StoreTableModel.Column<>("Date", ev -> ev.date),
+                new StoreTableModel.Column<>("Time", Event::times),
+                new StoreTableModel.Column<>("Location", ev -> ev.location),
+                new StoreTableModel.Column<>("Booked", ev -> ev.bookedSeats),
+                new StoreTableModel.Column<>("Seats", ev -> ev.totalSeats)));
+        private final StoreTableModel<User> userModel = new StoreTableModel<>("users", i -> users.get(i), () -> users.size(), usersVersion, List.of(
+                new StoreTableModel.Column<>("Username", u -> u.username),
+                new StoreTableModel.Column<>("Role", u -> u.role),
+                new StoreTableModel.Column<>("Full name", u -> u.fullName),
+                new StoreTableModel.Column<>("Department", u -> u.department)));
+
+        DataView() {
+            setLayout(cards);
+            area.setEditable(false);
+            add(new JScrollPane(area), "text");
+
+            table.setFillsViewportHeight(true);
+            table.setAutoCreateRowSorter(false);
+            table.getTableHeader().addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    int col = table.columnAtPoint(e.getPoint());
+                    if (col >= 0 && model != null) model.toggleSort(table.convertColumnIndexToModel(col));
+                }
+            });
+            JButton prev = new JButton("< Prev"); styleButton(prev);
+            JButton next = new JButton("Next >"); styleButton(next);
+            prev.addActionListener(e -> turnPage(-1));
+            next.addActionListener(e -> turnPage(1));
+            JPanel pager = new JPanel();
+            pager.add(prev); pager.add(pageLabel); pager.add(next);
+            JPanel tablePanel = new JPanel(new BorderLayout());
+            tablePanel.add(new JScrollPane(table), BorderLayout.CENTER);
+            tablePanel.add(pager, BorderLayout.SOUTH);
+            add(tablePanel, "table");
+        }
+
+        void showText(String text) {
+            area.setText(text);
+            area.setCaretPosition(0);
+            cards.show(this, "text");
+        }
+
+        void showEvents() {
+            showTable(eventModel);
+        }
+
+        void showUsers() {
+            showTable(userModel);
+        }
+
+        private void showTable(StoreTableModel<?> m) {
+            if (model != m) {
+                if (model != null) model.removeTableModelListener(pageListener);
+                model = m;
+                table.setModel(m);
+                m.addTableModelListener(pageListener);
+            }
+            m.refresh();
+            updatePageLabel();
+            cards.show(this, "table");
+        }
+
+        private void turnPage(int delta) {
+            if (model == null) return;
+            model.setPage(model.page() + delta);
+            table.scrollRectToVisible(new Rectangle(0, 0, 1, 1));
+        }
+
+        private void updatePageLabel() {
+            pageLabel.setText("Page " + (model.page() + 1) + " of " + model.pageCount() + "  (" + model.totalRows() + " rows)");
+        }
+    }
+
+    // Search field with a live result list, used as the dashboard sidebar and as
+    // the event picker in the register dialog
+    @SuppressWarnings("serial")
+    static class SearchBox extends JPanel {
+        static final int LIMIT = 50;
+
+        private final JTextField field = new JTextField();
+        private final DefaultListModel<SearchIndex.Hit> model = new DefaultListModel<>();
+        private final JList<SearchIndex.Hit> list = new JList<>(model);
+        private final boolean eventsOnly;
+
+        // onOpen runs on double-click / Enter; may be null
+        SearchBox(boolean eventsOnly, Consumer<SearchIndex.Hit> onOpen) {
+            super(new BorderLayout(0, 6));
+            this.eventsOnly = eventsOnly;
+            setOpaque(false);
+            field.setToolTipText(eventsOnly ? "Search events by name or location" : "Search events, students and departments");
+            field.getDocument().addDocumentListener(new DocumentListener() {
+                public void insertUpdate(DocumentEvent e) { update(); }
+                public void removeUpdate(DocumentEvent e) { update(); }
+                public void changedUpdate(DocumentEvent e) { update(); }
+            });
+            list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+            if (onOpen != null) {
+                field.addActionListener(e -> { if (selected() != null) onOpen.accept(selected()); });
+                list.addMouseListener(new MouseAdapter() {
+                    @Override
+                    public void mouseClicked(MouseEvent e) {
+                        if (e.getClickCount() == 2 && selected() != null) onOpen.accept(selected());
+                    }
+                });
+            }
+            add(field, BorderLayout.NORTH);
+            add(new JScrollPane(list), BorderLayout.CENTER);
+            update();
+        }
+
+        // An empty query lists the first events, so the picker is never blank
+        void update() {
+            String q = field.getText();
+            List<SearchIndex.Hit> hits;
+            if (q.isBlank()) {
+                ArrayList<SearchIndex.Hit> first = new ArrayList<>();
+                for (int i = 0; i < Math.min(LIMIT, events.size()); i++) first.add(new SearchIndex.Hit(events.get(i), null));
+                hits = first;
+            } else {
+                hits = searchIndex.search(q, LIMIT, eventsOnly);
+            }
+            model.clear();
+            model.addAll(hits);
+            if (!hits.isEmpty()) list.setSelectedIndex(0);
+        }
+
+        SearchIndex.Hit selected() {
+            return list.getSelectedValue();
+        }
+
+        // Empty query again; also picks up events added since the last update
+        void reset() {
+            if (field.getText().isEmpty()) update();
+            else field.setText("");
+        }
+    }
+
+    // -------------------- Calendar month grid --------------------
+    // Recently viewed months (day -> event count); addEvent invalidates a month.
+    static class MonthCache {
+        private final int capacity;
+        private final LinkedHashMap<YearMonth, int[]> months;
+        private long generation;
+
+        MonthCache(int capacity) {
+            this.capacity = capacity;
+            this.months = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<YearMonth, int[]> eldest) {
+                    return size() > MonthCache.this.capacity;
+                }
+            };
+        }
+
+        synchronized int[] get(YearMonth month) {
+            return months.get(month);
+        }
+
+        synchronized long generation() {
+            return generation;
+        }
+
+        synchronized void put(YearMonth month, int[] counts, long since) {
+            if (since == generation) months.put(month, counts);
+        }
+
+        synchronized void invalidate(YearMonth month) {
+            months.remove(month);
+            generation++;
+        }
+    }
 
-        Event(String name, String location, LocalDate date, int totalSeats) {
-            this.name = name;
-            this.location = location;
-            this.date = date;
-            this.totalSeats = totalSeats;
+    // Paints the whole month and maps clicks to days; paging only swaps the counts
+    @SuppressWarnings("serial")
+    static class MonthGrid extends JComponent {
+        private static final String[] DAY_NAMES = {"Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat"};
+        private static final String[] DAY_LABELS = new String[32];
+        private static final String[] SINGLE_LABELS = new String[32];
+        private static final Font HEADER_FONT = new Font("SansSerif", Font.BOLD, 13);
+        private static final Font DAY_FONT = new Font("SansSerif", Font.PLAIN, 13);
+        private static final Color CELL_BORDER = new Color(220, 220, 220);
+        private static final Color EVENT_DAY = new Color(255, 236, 179); // gold-ish
+        private static final int GAP = 6;
+
+        static {
+            for (int d = 1; d <= 31; d++) {
+                DAY_LABELS[d] = String.valueOf(d);
+                SINGLE_LABELS[d] = d + " •";
+            }
+        }
+
+        private YearMonth month;
+        private int[] counts; // null while the month is being counted
+
+        MonthGrid(LocalDate firstOfMonth) {
+            month = YearMonth.from(firstOfMonth);
+            setPreferredSize(new Dimension(7 * 52, 7 * 52));
+            setOpaque(true);
+            setBackground(BG);
+            addMouseListener(new MouseAdapter() {
+                @Override
+                public void mouseClicked(MouseEvent e) {
+                    int day = dayAt(e.getX(), e.getY());
+                    if (day > 0) showEventsForDate(month.atDay(day));
+                }
+            });
+        }
+
+        YearMonth month() {
+            return month;
+        }
+
+        void setMonth(YearMonth m) {
+            month = m;
+            counts = null;
+            repaint();
+        }
+
+        // Ignored if the grid has moved to another month meanwhile
+        void setCounts(YearMonth m, int[] c) {
+            if (!m.equals(month)) return;
+            counts = c;
+            repaint();
+        }
+
+        private int firstColumn() {
+            return month.atDay(1).getDayOfWeek().getValue() % 7;
+        }
+
+        private int weeks() {
+            return (firstColumn() + month.lengthOfMonth() + 6) / 7;
+        }
+
+        // Day of month under the point, or 0 for the header / empty cells
+        private int dayAt(int x, int y) {
+            int cw = getWidth() / 7, ch = getHeight() / (weeks() + 1);
+            if (cw == 0 || ch == 0) return 0;
+            int col = x / cw, row = y / ch - 1;
+            if (row < 0 || col > 6) return 0;
+            int day = row * 7 + col - firstColumn() + 1;
+            return day >= 1 && day <= month.lengthOfMonth() ? day : 0;
         }
 
         @Override
-        public String toString() {
-            return name + " | " + date + " | " + location + " | Seats: " + bookedSeats + "/" + totalSeats;
+        protected void paintComponent(Graphics g) {
+            long t0 = System.nanoTime();
+            g.setColor(getBackground());
+            g.fillRect(0, 0, getWidth(), getHeight());
+            if (g instanceof Graphics2D g2) {
+                g2.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            }
+            int cw = getWidth() / 7, ch = getHeight() / (weeks() + 1);
+
+            g.setFont(HEADER_FONT);
+            g.setColor(PRIMARY);
+            FontMetrics fm = g.getFontMetrics();
+            for (int c = 0; c < 7; c++) {
+                drawCentered(g, fm, DAY_NAMES[c], c * cw, 0, cw, ch);
+            }
+
+            g.setFont(DAY_FONT);
+            fm = g.getFontMetrics();
+            int start = firstColumn();
+            for (int day = 1; day <= month.lengthOfMonth(); day++) {
+                int cell = start + day - 1;
+                int x = (cell % 7) * cw + GAP / 2, y = (cell / 7 + 1) * ch + GAP / 2;
+                int w = cw - GAP, h = ch - GAP;
+                int n = counts == null ? 0 : counts[day];
+                g.setColor(n > 0 ? EVENT_DAY : Color.WHITE);
+                g.fillRect(x, y, w, h);
+                g.setColor(CELL_BORDER);
+                g.drawRect(x, y, w - 1, h - 1);
+                g.setColor(Color.BLACK);
+                String label = n == 0 ? DAY_LABELS[day] : n == 1 ? SINGLE_LABELS[day] : day + " (" + n + ")";
+                drawCentered(g, fm, label, x, y, w, h);
+            }
+            Metrics.calendarPaint.record(System.nanoTime() - t0);
+        }
+
+        private static void drawCentered(Graphics g, FontMetrics fm, String text, int x, int y, int w, int h) {
+            g.drawString(text, x + (w - fm.stringWidth(text)) / 2, y + (h - fm.getHeight()) / 2 + fm.getAscent());
         }
     }
 
-    static class Result {
-        String eventName;
-        String studentName;
-        String department;
-        String position; // e.g., "1st", "2nd", "Participation"
+    // -------------------- Reminders --------------------
+    static class Reminder {
+        final long id;
+        final int eventId;
+        final String username;
+        final long dueMillis;
+        long tick;               // due tick; may be moved up if already overdue
+        Reminder prev, next;     // links in a wheel slot (null when not scheduled)
 
-        Result(String eventName, String studentName, String department, String position) {
-            this.eventName = eventName;
-            this.studentName = studentName;
-            this.department = department;
-            this.position = position;
+        Reminder(long id, int eventId, String username, long dueMillis) {
+            this.id = id;
+            this.eventId = eventId;
+            this.username = username;
+            this.dueMillis = dueMillis;
+            this.tick = dueMillis / ReminderWheel.TICK_MILLIS;
+        }
+    }
+
+    // Hierarchical timing wheel (5 levels of 64 one-second slots); overdue
+    // reminders fire on the next tick. One reminder per student and event.
+    static class ReminderWheel {
+        static final long TICK_MILLIS = 1000;
+        static final int BITS = 6, SLOTS = 1 << BITS, MASK = SLOTS - 1, LEVELS = 5;
+
+        private record Owner(int eventId, String username) {}
+
+        private final Reminder[][] slots = new Reminder[LEVELS][SLOTS]; // sentinel heads
+        private final HashMap<Long, Reminder> byId = new HashMap<>();
+        private final HashMap<Owner, Reminder> byOwner = new HashMap<>();
+        private final AtomicLong nextId = new AtomicLong(1);
+        private long current; // last tick processed
+
+        ReminderWheel(long nowMillis) {
+            current = nowMillis / TICK_MILLIS;
+            for (Reminder[] level : slots) {
+                for (int i = 0; i < SLOTS; i++) {
+                    Reminder head = new Reminder(-1, -1, null, 0);
+                    head.prev = head.next = head;
+                    level[i] = head;
+                }
+            }
+        }
+
+        long newId() {
+            return nextId.getAndIncrement();
+        }
+
+        synchronized void schedule(Reminder r) {
+            if (r.tick <= current) r.tick = current + 1;
+            Reminder old = byOwner.put(new Owner(r.eventId, r.username), r);
+            if (old != null) {
+                byId.remove(old.id);
+                unlink(old);
+            }
+            byId.put(r.id, r);
+            nextId.accumulateAndGet(r.id + 1, Math::max);
+            place(r);
+        }
+
+        synchronized boolean cancel(long id) {
+            Reminder r = byId.remove(id);
+            if (r == null) return false;
+            byOwner.remove(new Owner(r.eventId, r.username), r);
+            unlink(r);
+            return true;
+        }
+
+        // The student's pending reminder for the event, removed; null if there is none
+        synchronized Reminder cancel(int eventId, String username) {
+            Reminder r = byOwner.remove(new Owner(eventId, username));
+            if (r == null) return null;
+            byId.remove(r.id);
+            unlink(r);
+            return r;
+        }
+
+        synchronized int pending() {
+            return byId.size();
+        }
+
+        synchronized List<Reminder> pendingList() {
+            return new ArrayList<>(byId.values());
+        }
+
+        // Processes every tick up to nowMillis and returns what fell due, in due order per tick
+        synchronized List<Reminder> advance(long nowMillis) {
+            long target = nowMillis / TICK_MILLIS;
+            ArrayList<Reminder> due = new ArrayList<>();
+            while (current < target) {
+                current++;
+                for (int level = LEVELS - 1; level > 0; level--) {
+                    if ((current & ((1L << (BITS * level)) - 1)) == 0) {
+                        cascade(slots[level][(int) ((current >> (BITS * level)) & MASK)]);
+                    }
+                }
+                Reminder head = slots[0][(int) (current & MASK)];
+                while (head.next != head) {
+                    Reminder r = head.next;
+                    unlink(r);
+                    byId.remove(r.id);
+                    byOwner.remove(new Owner(r.eventId, r.username), r);
+                    due.add(r);
+                }
+            }
+            return due;
+        }
+
+        // Starts the ticking thread; deliver gets each non-empty batch on that thread
+        void start(Consumer<List<Reminder>> deliver) {
+            Thread t = new Thread(() -> {
+                while (true) {
+                    try {
+                        Thread.sleep(TICK_MILLIS - System.currentTimeMillis() % TICK_MILLIS);
+                    } catch (InterruptedException ex) {
+                        return;
+                    }
+                    List<Reminder> due = advance(System.currentTimeMillis());
+                    if (!due.isEmpty()) deliver.accept(due);
+                }
+            }, "reminder-wheel");
+            t.setDaemon(true);
+            t.start();
+        }
+
+        private void place(Reminder r) {
+            long delta = r.tick - current;
+            int level = 0;
+            while (level < LEVELS - 1 && delta >= (1L << (BITS * (level + 1)))) level++;
+            Reminder head = slots[level][(int) ((r.tick >> (BITS * level)) & MASK)];
+            r.prev = head.prev;
+            r.next = head;
+            head.prev.next = r;
+            head.prev = r;
+        }
+
+        private void cascade(Reminder head) {
+            Reminder r = head.next;
+            head.prev = head.next = head;
+            while (r != head) {
+                Reminder next = r.next;
+                place(r);
+                r = next;
+            }
+        }
+
+        private static void unlink(Reminder r) {
+            if (r.next == null) return;
+            r.prev.next = r.next;
+            r.next.prev = r.prev;
+            r.prev = r.next = null;
         }
     }
 
     // -------------------- In-memory storage --------------------
-    static ArrayList<User> users = new ArrayList<>();
-    static ArrayList<Event> events = new ArrayList<>();
-    static ArrayList<Result> results = new ArrayList<>();
+    static UserStore users = new UserStore();
+    static EventStore events = new EventStore();
+    static ResultStore results = new ResultStore();
+    static SearchIndex searchIndex = new SearchIndex();
+    static RegistrationLedger registrations = new RegistrationLedger();
+    static Waitlist waitlist = new Waitlist();
+    static final MonthCache monthCache = new MonthCache(12);
+    static final ReminderWheel reminders = new ReminderWheel(System.currentTimeMillis());
+    static Journal journal; // null when running without persistence
+    // Serialises writers (the mutation helpers); readers use the stores' published versions and never lock
+    static final ReentrantLock storeLock = new ReentrantLock();
+    // Held shared by each mutation from its journal record until the stores show it; the
+    // journal writer holds it exclusively for the moment it copies the stores to compact
+    static final ReentrantReadWriteLock changeGate = new ReentrantReadWriteLock();
+    // Bumped on every change so derived views (e.g. cached API responses) know when to rebuild
+    static final AtomicLong usersVersion = new AtomicLong();
+    static final AtomicLong eventsVersion = new AtomicLong();
+    static final AtomicLong resultsVersion = new AtomicLong();
+
+    // -------------------- Persistence --------------------
+    // Append-only journal of every mutation plus a binary snapshot. One writer
+    // thread syncs queued records in batches (group commit). A long log is folded
+    // into a new snapshot, at startup or by the writer while running; generations
+    // keep records from replaying twice.
+    static class Journal {
+        static final byte USER = 1, EVENT = 2, SEATS = 3, RESULT = 4, REMINDER = 5, REMINDER_DONE = 6,
+                REGISTER = 7, UNREGISTER = 8, WAITLIST_JOIN = 9, WAITLIST_LEAVE = 10, TOTAL_SEATS = 11,
+                RESULTS = 12;
+        static final int LOG_MAGIC = 0x4A524E4C;  // "JRNL"
+        static final int SNAP_MAGIC = 0x534E4150; // "SNAP"
+        static final int HEADER = 12;             // magic + generation
+        static final int COMPACT_AFTER = 100_000;  // records in the log that trigger a new snapshot
+        static final long COMPACT_BYTES = 64 << 20; // or log bytes
+
+        private final Path logPath;
+        private final Path snapPath;
+        private final int compactAfter;
+        // Guarded by this. pending is the next batch; batchDone completes once it is
+        // forced to disk, inFlight once the batch being written is.
+        private ArrayList<byte[]> pending = new ArrayList<>();
+        private CompletableFuture<Void> batchDone = new CompletableFuture<>();
+        private CompletableFuture<Void> inFlight;
+        private boolean closing;
+        private IOException failure; // set once; the journal takes no more records after it
+        private FileChannel log;
+        private Thread writer;
+        private ByteBuffer batchBuf = ByteBuffer.allocateDirect(1 << 16);
+
+        // The current log; only the writer thread touches these once it runs
+        private long logGen;
+        private long validEnd; // bytes
+        private long logged;   // records
+
+        // The stores at one point in the record stream, copied under changeGate so the
+        // snapshot can be written while changes go on
+        private record State(List<User> users, List<Event> events, int[] totalSeats, int[] bookedSeats,
+                             ResultStore.Snapshot results, List<Reminder> reminders,
+                             List<Integer> attendeeEvents, List<int[]> attendees,
+                             List<Integer> waitingEvents, List<int[]> waiting) {}
+
+        private Journal(Path dir, int compactAfter) {
+            logPath = dir.resolve("journal.log");
+            snapPath = dir.resolve("state.snap");
+            this.compactAfter = compactAfter;
+        }
+
+        static Journal open(Path dir) throws IOException {
+            return open(dir, COMPACT_AFTER);
+        }
+
+        // Loads the saved state into users/events/results and starts the writer
+        static Journal open(Path dir, int compactAfter) throws IOException {
+            Files.createDirectories(dir);
+            Journal j = new Journal(dir, compactAfter);
+            long snapGen = Files.exists(j.snapPath) ? j.readSnapshot() : 0;
+            if (Files.exists(j.logPath)) j.replay(snapGen);
+            if (j.validEnd == 0) j.startLog(snapGen + 1);
+            j.log = FileChannel.open(j.logPath, StandardOpenOption.WRITE);
+            if (j.log.size() > j.validEnd) j.log.truncate(j.validEnd); // torn tail from a crash mid-write
+            j.log.position(j.validEnd);
+            if (j.compactDue()) j.compact(j.capture()); // nothing else is running yet
+            j.writer = new Thread(j::writeLoop, "journal-writer");
+            j.writer.setDaemon(true);
+            j.writer.start();
+            return j;
+        }
+
+        void logUser(User u) {
+            append(record(USER, u.username, u.password, u.role, u.fullName, u.department));
+        }
+
+        void logEvent(Event ev) {
+            append(record(EVENT, ev.name, ev.location, ev.date.toEpochDay(), ev.totalSeats, ev.startMinute, ev.endMinute));
+        }
+
+        // One seat plus the ledger entry (older journals hold anonymous SEATS deltas)
+        void logRegistration(Event ev, User u, boolean registered) {
+            append(record(registered ? REGISTER : UNREGISTER, ev.id, u.id));
+        }
+
+        // Promotions are logged as a REGISTER, which also takes the student off the queue
+        void logWaitlist(Event ev, User u, boolean joined) {
+            append(record(joined ? WAITLIST_JOIN : WAITLIST_LEAVE, ev.id, u.id));
+        }
+
+        void logTotalSeats(Event ev) {
+            append(record(TOTAL_SEATS, ev.id, ev.totalSeats));
+        }
+
+        void logResult(Result r) {
+            append(record(RESULT, r.eventName, r.studentName, r.department, r.position));
+        }
+
+        // One record for the batch, so a crash mid-write loses all of it or none
+        void logResults(List<Result> batch) {
+            Object[] fields = new Object[1 + batch.size() * 4];
+            fields[0] = batch.size();
+            int i = 1;
+            for (Result r : batch) {
+                fields[i++] = r.eventName;
+                fields[i++] = r.studentName;
+                fields[i++] = r.department;
+                fields[i++] = r.position;
+            }
+            append(record(RESULTS, fields));
+        }
+
+        void logReminder(Reminder r) {
+            append(record(REMINDER, r.id, r.eventId, r.username, r.dueMillis));
+        }
+
+        // Delivered or cancelled; either way it must not come back after a restart
+        void logReminderDone(long id) {
+            append(record(REMINDER_DONE, id));
+        }
+
+        private synchronized void append(byte[] record) {
+            if (failure != null) return; // flushed() reports it
+            pending.add(record);
+            if (pending.size() == 1) notifyAll();
+        }
+
+        // Completes once everything appended so far is on disk, or fails with the write error
+        synchronized CompletableFuture<Void> flushed() {
+            if (failure != null) return CompletableFuture.failedFuture(failure);
+            if (!pending.isEmpty()) return batchDone;
+            return inFlight != null ? inFlight : CompletableFuture.completedFuture(null);
+        }
+
+        synchronized boolean failed() {
+            return failure != null;
+        }
+
+        // Flushes everything queued so far and stops the writer
+        void close() {
+            synchronized (this) {
+                closing = true;
+                notifyAll();
+            }
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException ignored) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // When the log is due for compaction the next batch is cut with changeGate held
+        // exclusively: it then holds exactly the records of the copied stores, so the
+        // snapshot covers this generation and later records go to the next one.
+        private void writeLoop() {
+            while (true) {
+                ArrayList<byte[]> batch;
+                CompletableFuture<Void> done;
+                boolean last;
+                State cut = null;
+                boolean compact = compactDue();
+                if (compact) changeGate.writeLock().lock();
+                try {
+                    synchronized (this) {
+                        try {
+                            while (!compact && pending.isEmpty() && !closing) wait();
+                        } catch (InterruptedException ex) {
+                            return;
+                        }
+                        batch = pending;
+                        done = batchDone;
+                        last = closing;
+                        pending = new ArrayList<>();
+                        batchDone = new CompletableFuture<>();
+                        inFlight = done;
+                    }
+                    if (compact && !last) cut = capture();
+                } finally {
+                    if (compact) changeGate.writeLock().unlock();
+                }
+                try {
+                    write(batch);
+                    if (last) log.close();
+                } catch (IOException ex) {
+                    fail(ex, done);
+                    return;
+                }
+                synchronized (this) {
+                    if (inFlight == done) inFlight = null;
+                }
+                done.complete(null);
+                if (last) return;
+                if (cut != null) {
+                    try {
+                        compact(cut);
+                    } catch (IOException ex) {
+                        fail(ex, done);
+                        return;
+                    }
+                }
+            }
+        }
+
+        private boolean compactDue() {
+            return logged >= compactAfter || validEnd >= COMPACT_BYTES;
+        }
+
+        // Snapshot first, then the new log: a crash in between finds a log the snapshot already covers
+        private void compact(State cut) throws IOException {
+            writeSnapshot(logGen, cut);
+            log.close();
+            startLog(logGen + 1);
+            log = FileChannel.open(logPath, StandardOpenOption.WRITE);
+            log.position(validEnd);
+        }
+
+        private void write(List<byte[]> batch) throws IOException {
+            int bytes = 0;
+            for (byte[] r : batch) bytes += 4 + r.length;
+            if (bytes > batchBuf.capacity()) batchBuf = ByteBuffer.allocateDirect(Integer.highestOneBit(bytes) << 1);
+            batchBuf.clear();
+            for (byte[] r : batch) batchBuf.putInt(r.length).put(r);
+            batchBuf.flip();
+            while (batchBuf.hasRemaining()) log.write(batchBuf);
+            if (bytes > 0) log.force(false); // one sync for the whole batch
+            validEnd += bytes;
+            logged += batch.size();
+        }
+
+        // The log can't be trusted past a failed write, so the journal stops: flushed() fails,
+        // later changes stay in memory only, and the UI says so once
+        private void fail(IOException ex, CompletableFuture<Void> done) {
+            CompletableFuture<Void> next;
+            synchronized (this) {
+                failure = ex;
+                pending.clear();
+                inFlight = null;
+                next = batchDone;
+            }
+            done.completeExceptionally(ex);
+            next.completeExceptionally(ex);
+            System.err.println("Journal writer stopped: " + ex);
+            if (!GraphicsEnvironment.isHeadless()) {
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(null,
+                        "Changes can no longer be saved to " + logPath.getParent() + ":\n" + ex.getMessage()
+                                + "\n\nChanges made from now on will be lost when the application closes.",
+                        "Journal Error", JOptionPane.ERROR_MESSAGE));
+            }
+        }
+
+        // Record payload: type byte, then fields (strings as int length + UTF-8 bytes)
+        private static byte[] record(byte type, Object... fields) {
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeByte(type);
+                for (Object f : fields) {
+                    if (f instanceof String str) writeString(out, str);
+                    else if (f instanceof Long l) out.writeLong(l);
+                    else out.writeInt((Integer) f);
+                }
+                return bytes.toByteArray();
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        private void replay(long snapGen) throws IOException {
+            try (FileChannel ch = FileChannel.open(logPath, StandardOpenOption.READ)) {
+                long size = ch.size();
+                if (size < HEADER) return;
+                MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                if (buf.getInt() != LOG_MAGIC) throw new IOException("Not a journal file: " + logPath);
+                long gen = buf.getLong();
+                if (gen <= snapGen) return; // already folded into the snapshot
+                logGen = gen;
+                validEnd = HEADER;
+                byte[] scratch = new byte[256];
+                while (buf.remaining() >= 4) {
+                    int len = buf.getInt();
+                    if (len <= 0 || len > buf.remaining()) break;
+                    int end = buf.position() + len;
+                    byte type = buf.get();
+                    switch (type) {
+                        case USER -> users.add(new User(readString(buf, scratch), readString(buf, scratch), readString(buf, scratch),
+                                readString(buf, scratch), readString(buf, scratch)));
+                        case EVENT -> {
+                            Event ev = new Event(readString(buf, scratch), readString(buf, scratch),
+                                    LocalDate.ofEpochDay(buf.getLong()), buf.getInt());
+                            if (end - buf.position() >= 8) { // older records have no times: all day
+                                ev.startMinute = buf.getInt();
+                                ev.endMinute = buf.getInt();
+                            }
+                            events.add(ev);
+                        }
+                        case SEATS -> {
+                            Event ev = events.get(buf.getInt());
+                            ev.bookedSeats = ev.bookedSeats + buf.getInt();
+                        }
+                        case REGISTER -> {
+                            Event ev = events.get(buf.getInt());
+                            int student = buf.getInt();
+                            waitlist.remove(ev.id, student);
+                            registrations.add(ev.id, student);
+                            ev.bookedSeats = ev.bookedSeats + 1;
+                        }
+                        case UNREGISTER -> {
+                            Event ev = events.get(buf.getInt());
+                            registrations.remove(ev.id, buf.getInt());
+                            ev.bookedSeats = ev.bookedSeats - 1;
+                        }
+                        case WAITLIST_JOIN -> waitlist.add(buf.getInt(), buf.getInt());
+                        case WAITLIST_LEAVE -> waitlist.remove(buf.getInt(), buf.getInt());
+                        case TOTAL_SEATS -> events.get(buf.getInt()).totalSeats = buf.getInt();
+                        case RESULT -> results.add(new Result(readString(buf, scratch), readString(buf, scratch),
+                                readString(buf, scratch), readString(buf, scratch)));
+                        case RESULTS -> {
+                            Result[] batch = new Result[buf.getInt()];
+                            for (int i = 0; i < batch.length; i++) {
+                                batch[i] = new Result(readString(buf, scratch), readString(buf, scratch),
+                                        readString(buf, scratch), readString(buf, scratch));
+                            }
+                            results.addAll(Arrays.asList(batch));
+                        }
+                        case REMINDER -> reminders.schedule(new Reminder(buf.getLong(), buf.getInt(), readString(buf, scratch), buf.getLong()));
+                        case REMINDER_DONE -> reminders.cancel(buf.getLong());
+                        default -> throw new IOException("Unknown journal record " + type + " at " + (end - len));
+                    }
+                    buf.position(end);
+                    validEnd = end;
+                    logged++;
+                }
+            }
+        }
+
+        private void startLog(long gen) throws IOException {
+            Path tmp = logPath.resolveSibling(logPath.getFileName() + ".tmp");
+            try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER).putInt(LOG_MAGIC).putLong(gen);
+                header.flip();
+                while (header.hasRemaining()) ch.write(header);
+                ch.force(true);
+            }
+            Files.move(tmp, logPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logGen = gen;
+            validEnd = HEADER;
+            logged = 0;
+        }
+
+        // Returns the journal generation the snapshot covers
+        private long readSnapshot() throws IOException {
+            try (FileChannel ch = FileChannel.open(snapPath, StandardOpenOption.READ)) {
+                MappedByteBuffer in = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+                if (in.getInt() != SNAP_MAGIC) throw new IOException("Not a snapshot file: " + snapPath);
+                long gen = in.getLong();
+                byte[] b = new byte[256];
+                for (int i = in.getInt(); i > 0; i--) {
+                    users.add(new User(readString(in, b), readString(in, b), readString(in, b), readString(in, b), readString(in, b)));
+                }
+                // Held back until the trailing times section is read, so the venue index sees final times
+                ArrayList<Event> loaded = new ArrayList<>();
+                for (int i = in.getInt(); i > 0; i--) {
+                    Event ev = new Event(readString(in, b), readString(in, b), LocalDate.ofEpochDay(in.getLong()), in.getInt());
+                    ev.bookedSeats = in.getInt();
+                    loaded.add(ev);
+                }
+                for (int i = in.getInt(); i > 0; i--) {
+                    results.add(new Result(readString(in, b), readString(in, b), readString(in, b), readString(in, b)));
+                }
+                // older snapshots end early; each missing section counts as empty
+                for (int i = trailingCount(in); i > 0; i--) {
+                    reminders.schedule(new Reminder(in.getLong(), in.getInt(), readString(in, b), in.getLong()));
+                }
+                for (int i = trailingCount(in); i > 0; i--) { // bookings before the ledger stay counted but anonymous
+                    int eventId = in.getInt();
+                    for (int n = in.getInt(); n > 0; n--) registrations.add(eventId, in.getInt());
+                }
+                for (int i = trailingCount(in); i > 0; i--) {
+                    int eventId = in.getInt();
+                    for (int n = in.getInt(); n > 0; n--) waitlist.add(eventId, in.getInt());
+                }
+                int timedEvents = trailingCount(in); // none: written before events had times, so all day
+                for (int i = 0; i < timedEvents; i++) {
+                    loaded.get(i).startMinute = in.getInt();
+                    loaded.get(i).endMinute = in.getInt();
+                }
+                for (Event ev : loaded) events.add(ev);
+                return gen;
+            } catch (BufferUnderflowException ex) {
+                throw new IOException("Truncated snapshot file: " + snapPath);
+            }
+        }
+
+        private static int trailingCount(ByteBuffer in) {
+            return in.remaining() >= 4 ? in.getInt() : 0;
+        }
+
+        private State capture() {
+            List<Event> evs = events.snapshot();
+            int[] totalSeats = new int[evs.size()], bookedSeats = new int[evs.size()];
+            for (int i = 0; i < evs.size(); i++) {
+                totalSeats[i] = evs.get(i).totalSeats;
+                bookedSeats[i] = evs.get(i).bookedSeats;
+            }
+            ArrayList<Integer> attendeeEvents = new ArrayList<>();
+            ArrayList<int[]> attendees = new ArrayList<>();
+            registrations.forEachEvent((ids, eventId) -> { attendees.add(ids); attendeeEvents.add(eventId); });
+            ArrayList<Integer> waitingEvents = new ArrayList<>();
+            ArrayList<int[]> waiting = new ArrayList<>();
+            for (int eventId : waitlist.eventIds()) {
+                if (waitlist.size(eventId) == 0) continue;
+                waitingEvents.add(eventId);
+                waiting.add(waitlist.waiting(eventId));
+            }
+            return new State(users.snapshot(), evs, totalSeats, bookedSeats, results.snapshot(), reminders.pendingList(),
+                    attendeeEvents, attendees, waitingEvents, waiting);
+        }
+
+        private void writeSnapshot(long gen, State st) throws IOException {
+            Path tmp = snapPath.resolveSibling(snapPath.getFileName() + ".tmp");
+            try (FileOutputStream fos = new FileOutputStream(tmp.toFile());
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fos, 1 << 16))) {
+                out.writeInt(SNAP_MAGIC);
+                out.writeLong(gen);
+                out.writeInt(st.users().size());
+                for (User u : st.users()) {
+                    writeString(out, u.username); writeString(out, u.password); writeString(out, u.role);
+                    writeString(out, u.fullName); writeString(out, u.department);
+                }
+                List<Event> evs = st.events();
+                out.writeInt(evs.size());
+                for (int i = 0; i < evs.size(); i++) {
+                    Event ev = evs.get(i);
+                    writeString(out, ev.name); writeString(out, ev.location);
+                    out.writeLong(ev.date.toEpochDay()); out.writeInt(st.totalSeats()[i]); out.writeInt(st.bookedSeats()[i]);
+                }
+                out.writeInt(st.results().size());
+                for (Result r : st.results()) {
+                    writeString(out, r.eventName); writeString(out, r.studentName);
+                    writeString(out, r.department); writeString(out, r.position);
+                }
+                out.writeInt(st.reminders().size());
+                for (Reminder r : st.reminders()) {
+                    out.writeLong(r.id); out.writeInt(r.eventId); writeString(out, r.username); out.writeLong(r.dueMillis);
+                }
+                writeIdLists(out, st.attendeeEvents(), st.attendees());
+                writeIdLists(out, st.waitingEvents(), st.waiting());
+                out.writeInt(evs.size());
+                for (Event ev : evs) {
+                    out.writeInt(ev.startMinute); out.writeInt(ev.endMinute);
+                }
+                out.flush();
+                fos.getFD().sync();
+            }
+            Files.move(tmp, snapPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+
+        private static void writeIdLists(DataOutput out, List<Integer> eventIds, List<int[]> lists) throws IOException {
+            out.writeInt(eventIds.size());
+            for (int i = 0; i < eventIds.size(); i++) {
+                out.writeInt(eventIds.get(i));
+                out.writeInt(lists.get(i).length);
+                for (int id : lists.get(i)) out.writeInt(id);
+            }
+        }
+
+        private static void writeString(DataOutput out, String s) throws IOException {
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(b.length);
+            out.write(b);
+        }
+
+        private static String readString(ByteBuffer buf, byte[] scratch) {
+            int len = buf.getInt();
+            byte[] b = len <= scratch.length ? scratch : new byte[len];
+            buf.get(b, 0, len);
+            return new String(b, 0, len, StandardCharsets.UTF_8);
+        }
+    }
 
     // -------------------- Theme --------------------
     static final Color PRIMARY = new Color(33, 97, 174);
     static final Color HOVER = new Color(52, 152, 219);
     static final Color BG = new Color(245, 247, 250);
+    // Shared by every styled button and dashboard header instead of one copy per component
+    static final Font BUTTON_FONT = new Font("SansSerif", Font.BOLD, 13);
+    static final Font TITLE_FONT = new Font("SansSerif", Font.BOLD, 18);
+    static final Border BUTTON_BORDER = BorderFactory.createEmptyBorder(6, 12, 6, 12);
+    static final Cursor HAND = Cursor.getPredefinedCursor(Cursor.HAND_CURSOR);
+    static final MouseAdapter HOVER_LISTENER = new MouseAdapter() {
+        @Override
+        public void mouseEntered(MouseEvent e) {
+            e.getComponent().setBackground(HOVER);
+        }
+
+        @Override
+        public void mouseExited(MouseEvent e) {
+            e.getComponent().setBackground(PRIMARY);
+        }
+    };
 
     // -------------------- Main --------------------
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("--simulate")) {
+            System.exit(LoadSimulation.run(Arrays.copyOfRange(args, 1, args.length)));
+        }
+
+        // Restore saved accounts, events, registrations and results (data dir overridable with -Dsmartevent.data=...)
+        try {
+            journal = Journal.open(Path.of(System.getProperty("smartevent.data", "smartevent-data")));
+            Runtime.getRuntime().addShutdownHook(new Thread(journal::close, "journal-close"));
+        } catch (IOException ex) {
+            System.err.println("Persistence disabled: " + ex.getMessage());
+        }
+        searchIndex.rebuild();
+
+        if (users.size() == 0) seedDefaults();
+
+        Metrics.install();
+
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+            try {
+                new ApiServer(port).start();
+                System.out.println("Smart Event Organizer API listening on http://localhost:" + port + "/api/");
+            } catch (IOException ex) {
+                System.err.println("Could not start API server: " + ex.getMessage());
+                System.exit(1);
+            }
+            return;
+        }
+
+        EdtMonitor.install();
+        reminders.start(SmartEventOrganizerSwing::deliverReminders);
+        SwingUtilities.invokeLater(SmartEventOrganizerSwing::showLoginPage);
+    }
+
+    // First run (and the load simulation): admin and faculty accounts plus sample events
+    static void seedDefaults() {
         // Seed Admin and sample accounts
-        users.add(new User("admin", "admin", "Admin"));
-        users.add(new User("faculty", "faculty", "Faculty"));
+        addUser(new User("admin", "admin", "Admin"));
+        addUser(new User("faculty", "faculty", "Faculty"));
         // (No default student; admin will create students)
 
         // Seed sample events
-        events.add(new Event("Tech Symposium", "Auditorium", LocalDate.of(2025, 11, 8), 100));
-        events.add(new Event("AI Workshop", "Innovation Lab", LocalDate.of(2025, 11, 12), 50));
-        events.add(new Event("Cultural Fest", "Main Hall", LocalDate.of(2025, 11, 15), 200));
+        addEvent(new Event("Tech Symposium", "Auditorium", LocalDate.of(2025, 11, 8), 10 * 60, 16 * 60, 100));
+        addEvent(new Event("AI Workshop", "Innovation Lab", LocalDate.of(2025, 11, 12), 14 * 60, 17 * 60, 50));
+        addEvent(new Event("Cultural Fest", "Main Hall", LocalDate.of(2025, 11, 15), 17 * 60, 22 * 60, 200));
+    }
 
-        SwingUtilities.invokeLater(SmartEventOrganizerSwing::showLoginPage);
+    // ====================== VIEW CACHE ======================
+    // The login page and one dashboard per role are built once; logout hides the
+    // dashboard and the next login rebinds it to the new user.
+    record Dashboard(JFrame frame, Consumer<User> bind) {}
+
+    static final HashMap<String, Dashboard> dashboards = new HashMap<>(); // role -> its frame; EDT-only
+    static User currentUser; // signed in; dashboard handlers read it when clicked
+    static JFrame loginFrame;
+    static Runnable clearLogin; // empties the login form, so the next person sees no trace of the last
+
+    static void openDashboard(User u) {
+        long t0 = System.nanoTime();
+        currentUser = u;
+        boolean built = !dashboards.containsKey(u.role);
+        Dashboard d = dashboards.computeIfAbsent(u.role, role -> switch (role) {
+            case "Admin" -> adminDashboard();
+            case "Faculty" -> facultyDashboard();
+            default -> studentDashboard();
+        });
+        d.bind().accept(u);
+        d.frame().setVisible(true);
+        (built ? Metrics.dashboardBuild : Metrics.dashboardReuse).record(System.nanoTime() - t0);
+    }
+
+    // What a freshly built dashboard shows: no report, empty search
+    static void reset(DataView view, SearchBox sidebar) {
+        view.showText("");
+        sidebar.reset();
+    }
+
+    // Title bar shared by the dashboards; logout hides the frame for reuse
+    static JLabel dashboardHeader(JFrame f, String title) {
+        JPanel top = new JPanel(new BorderLayout());
+        JLabel head = new JLabel(title, SwingConstants.CENTER);
+        head.setOpaque(true); head.setBackground(PRIMARY); head.setForeground(Color.WHITE);
+        head.setFont(TITLE_FONT);
+        top.add(head, BorderLayout.CENTER);
+
+        JButton logout = new JButton("Logout"); styleButton(logout);
+        logout.addActionListener(e -> {
+            f.setVisible(false);
+            currentUser = null;
+            showLoginPage();
+        });
+        JPanel right = new JPanel(); right.setOpaque(false); right.add(logout);
+        top.add(right, BorderLayout.EAST);
+        f.add(top, BorderLayout.NORTH);
+        return head;
     }
 
     // ====================== LOGIN PAGE ======================
     static void showLoginPage() {
+        if (loginFrame == null) buildLoginPage();
+        clearLogin.run();
+        loginFrame.setVisible(true);
+    }
+
+    static void buildLoginPage() {
         JFrame frame = new JFrame("Smart Event Organizer - Academia Montes Flora");
         frame.setSize(520, 460);
         frame.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -165,77 +4071,76 @@ public class SmartEventOrganizerSwing {
             String password = new String(passField.getPassword()).trim();
             String role = roleBox.getSelectedItem().toString();
 
-            User found = null;
-            for (User u : users) {
-                if (u.username.equals(username) && u.password.equals(password) && u.role.equals(role)) {
-                    found = u;
-                    break;
-                }
-            }
+            User found = login(username, password, role);
             if (found != null) {
-                frame.dispose();
-                switch (role) {
-                    case "Admin" -> adminDashboard();
-                    case "Faculty" -> facultyDashboard();
-                    case "Student" -> studentDashboard(found); // pass the student user
-                }
+                frame.setVisible(false);
+                openDashboard(found);
             } else {
                 JOptionPane.showMessageDialog(frame, "Invalid credentials or role. If you're a student ask the admin to create an account.", "Login Failed", JOptionPane.ERROR_MESSAGE);
             }
         });
 
-        frame.setVisible(true);
+        loginFrame = frame;
+        clearLogin = () -> {
+            userField.setText("");
+            passField.setText("");
+            roleBox.setSelectedIndex(0);
+            userField.requestFocusInWindow();
+        };
     }
 
     // ====================== ADMIN DASHBOARD ======================
-    static void adminDashboard() {
+    static Dashboard adminDashboard() {
         JFrame f = baseFrame("Admin Dashboard");
         f.setLayout(new BorderLayout());
 
         // Top header
-        JPanel top = new JPanel(new BorderLayout());
-        JLabel head = new JLabel("Admin Dashboard", SwingConstants.CENTER);
-        head.setOpaque(true); head.setBackground(PRIMARY); head.setForeground(Color.WHITE);
-        head.setFont(new Font("SansSerif", Font.BOLD, 18));
-        top.add(head, BorderLayout.CENTER);
-
-        JButton logout = new JButton("Logout"); styleButton(logout);
-        logout.addActionListener(e -> { f.dispose(); showLoginPage(); });
-        JPanel right = new JPanel(); right.setOpaque(false); right.add(logout);
-        top.add(right, BorderLayout.EAST);
-        f.add(top, BorderLayout.NORTH);
+        dashboardHeader(f, "Admin Dashboard");
 
-        // Center area: results text area
-        JTextArea area = new JTextArea();
-        area.setEditable(false);
-        JScrollPane scroll = new JScrollPane(area);
-        f.add(scroll, BorderLayout.CENTER);
+        // Center area: report text, or the paged event/user tables
+        DataView view = new DataView();
+        f.add(view, BorderLayout.CENTER);
+        SearchBox sidebar = searchSidebar(f, false);
+        f.add(sidebar, BorderLayout.WEST);
 
         // Bottom actions
         JButton viewUsersBtn = new JButton("View Users"); styleButton(viewUsersBtn);
         JButton viewEventsBtn = new JButton("View Events"); styleButton(viewEventsBtn);
         JButton addStudentBtn = new JButton("Add Student"); styleButton(addStudentBtn);
+        JButton importStudentsBtn = new JButton("Import Students (CSV)"); styleButton(importStudentsBtn);
         JButton addEventBtn = new JButton("Add Event"); styleButton(addEventBtn);
         JButton publishResultsBtn = new JButton("Publish Results (per event)"); styleButton(publishResultsBtn);
+        JButton batchResultsBtn = new JButton("Batch Results"); styleButton(batchResultsBtn);
         JButton calendarBtn = new JButton("View Calendar"); styleButton(calendarBtn);
+        JButton standingsBtn = new JButton("Department Standings"); styleButton(standingsBtn);
+        JButton attendeesBtn = new JButton("Attendees"); styleButton(attendeesBtn);
+        JButton seatsBtn = new JButton("Change Seats"); styleButton(seatsBtn);
+        JButton venueSlotsBtn = new JButton("Venue Free Slots"); styleButton(venueSlotsBtn);
+        JButton reportsBtn = new JButton("Reports (CSV)"); styleButton(reportsBtn);
+        JButton diagnosticsBtn = new JButton("Diagnostics"); styleButton(diagnosticsBtn);
 
-        JPanel bottom = new JPanel();
+        JPanel bottom = new JPanel(new GridLayout(2, 0, 6, 6)); // two rows, so every action stays visible
+        bottom.setBorder(BorderFactory.createEmptyBorder(6, 6, 6, 6));
         bottom.add(viewUsersBtn);
         bottom.add(viewEventsBtn);
         bottom.add(addStudentBtn);
+        bottom.add(importStudentsBtn);
         bottom.add(addEventBtn);
         bottom.add(publishResultsBtn);
+        bottom.add(batchResultsBtn);
         bottom.add(calendarBtn);
+        bottom.add(standingsBtn);
+        bottom.add(attendeesBtn);
+        bottom.add(seatsBtn);
+        bottom.add(venueSlotsBtn);
+        bottom.add(reportsBtn);
+        bottom.add(diagnosticsBtn);
         f.add(bottom, BorderLayout.SOUTH);
 
         // Actions
-        viewUsersBtn.addActionListener(e -> {
-            StringBuilder sb = new StringBuilder("=== USERS ===\n");
-            for (User u : users) sb.append(u.toString()).append("\n");
-            area.setText(sb.toString());
-        });
+        viewUsersBtn.addActionListener(e -> view.showUsers());
 
-        viewEventsBtn.addActionListener(e -> area.setText(eventList()));
+        viewEventsBtn.addActionListener(e -> view.showEvents());
 
         addStudentBtn.addActionListener(e -> {
             JTextField username = new JTextField();
@@ -250,42 +4155,52 @@ public class SmartEventOrganizerSwing {
             };
             int opt = JOptionPane.showConfirmDialog(f, msg, "Add Student", JOptionPane.OK_CANCEL_OPTION);
             if (opt == JOptionPane.OK_OPTION) {
-                // check duplicate username
-                for (User u : users) {
-                    if (u.username.equals(username.getText().trim())) {
+                User u = new User(username.getText().trim(), password.getText().trim(), "Student", fullname.getText().trim(), department.getText().trim());
+                // check duplicate username off the EDT; addUser re-checks in case it was taken meanwhile
+                Services.onEdt(Services.usernameTaken(u.username), taken -> {
+                    if (taken || !addUser(u)) {
                         JOptionPane.showMessageDialog(f, "Username already exists!", "Error", JOptionPane.ERROR_MESSAGE);
                         return;
                     }
-                }
-                users.add(new User(username.getText().trim(), password.getText().trim(), "Student", fullname.getText().trim(), department.getText().trim()));
-                JOptionPane.showMessageDialog(f, "Student added successfully!");
+                    Services.onEdt(durable(), v -> JOptionPane.showMessageDialog(f, "Student added successfully!"));
+                });
             }
         });
 
-        addEventBtn.addActionListener(e -> {
-            JTextField name = new JTextField();
-            JTextField location = new JTextField();
-            JTextField date = new JTextField(LocalDate.now().toString());
-            JTextField seats = new JTextField("50");
-            Object[] msg = {
-                    "Event name:", name,
-                    "Location:", location,
-                    "Date (YYYY-MM-DD):", date,
-                    "Total seats:", seats
-            };
-            int opt = JOptionPane.showConfirmDialog(f, msg, "Add Event", JOptionPane.OK_CANCEL_OPTION);
-            if (opt == JOptionPane.OK_OPTION) {
-                try {
-                    LocalDate d = LocalDate.parse(date.getText().trim());
-                    int s = Integer.parseInt(seats.getText().trim());
-                    events.add(new Event(name.getText().trim(), location.getText().trim(), d, s));
-                    JOptionPane.showMessageDialog(f, "Event added!");
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(f, "Invalid date or seats", "Error", JOptionPane.ERROR_MESSAGE);
+        importStudentsBtn.addActionListener(e -> {
+            JFileChooser chooser = new JFileChooser();
+            chooser.setDialogTitle("CSV: username,password,full name,department");
+            if (chooser.showOpenDialog(f) != JFileChooser.APPROVE_OPTION) return;
+
+            StudentImport task = new StudentImport(chooser.getSelectedFile());
+            JDialog progress = new JDialog(f, "Importing students", false);
+            JProgressBar bar = new JProgressBar(0, 100);
+            bar.setStringPainted(true);
+            JButton cancel = new JButton("Cancel"); styleButton(cancel);
+            cancel.addActionListener(ae -> task.cancel(false));
+            JPanel p = new JPanel(new BorderLayout(8, 8));
+            p.setBorder(BorderFactory.createEmptyBorder(12, 12, 12, 12));
+            p.add(bar, BorderLayout.CENTER);
+            p.add(cancel, BorderLayout.EAST);
+            progress.add(p);
+            progress.setSize(360, 90);
+            progress.setLocationRelativeTo(f);
+
+            task.addPropertyChangeListener(pe -> {
+                if ("progress".equals(pe.getPropertyName())) {
+                    bar.setValue((Integer) pe.getNewValue());
+                } else if (task.isDone() && progress.isDisplayable()) {
+                    progress.dispose();
+                    JOptionPane.showMessageDialog(f, task.summary(), "Import Students", JOptionPane.INFORMATION_MESSAGE);
                 }
-            }
+            });
+            progress.setVisible(true);
+            task.execute();
         });
 
+        addEventBtn.addActionListener(e -> showAddEvent(f));
+        venueSlotsBtn.addActionListener(e -> showVenueSlots(f, view));
+
         publishResultsBtn.addActionListener(e -> {
             if (events.isEmpty()) {
                 JOptionPane.showMessageDialog(f, "No events available to publish results for.");
@@ -306,73 +4221,117 @@ public class SmartEventOrganizerSwing {
             int opt = JOptionPane.showConfirmDialog(f, msg, "Publish Result", JOptionPane.OK_CANCEL_OPTION);
             if (opt == JOptionPane.OK_OPTION) {
                 String eventName = (String) evBox.getSelectedItem();
-                results.add(new Result(eventName, studName.getText().trim(), dept.getText().trim(), pos.getText().trim()));
-                JOptionPane.showMessageDialog(f, "Result published for event: " + eventName);
+                ResultBatch check = ResultBatch.single(eventName, studName.getText(), dept.getText(), pos.getText());
+                if (!check.ok()) {
+                    JOptionPane.showMessageDialog(f, check.errors.get(0), "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                publishResult(check.rows.get(0));
+                Services.onEdt(durable(), v -> JOptionPane.showMessageDialog(f, "Result published for event: " + eventName));
+            }
+        });
+
+        batchResultsBtn.addActionListener(e -> showBatchResults(f, view));
+
+        calendarBtn.addActionListener(e -> showCalendar());
+
+        standingsBtn.addActionListener(e -> Services.onEdt(Services.departmentStandings(), view::showText));
+
+        attendeesBtn.addActionListener(e -> showAttendees(f, view));
+
+        // Raising capacity promotes waitlisted students straight away
+        seatsBtn.addActionListener(e -> {
+            if (events.isEmpty()) {
+                JOptionPane.showMessageDialog(f, "No events available.");
+                return;
+            }
+            SearchBox picker = new SearchBox(true, null);
+            picker.setPreferredSize(new Dimension(420, 220));
+            JTextField seats = new JTextField();
+            Object[] msg = {"Event:", picker, "New total seats:", seats};
+            if (JOptionPane.showConfirmDialog(f, msg, "Change Seats", JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION) return;
+            if (picker.selected() == null) {
+                JOptionPane.showMessageDialog(f, "No matching event selected.");
+                return;
+            }
+            Event ev = picker.selected().event();
+            try {
+                int waiting = waitlistSize(ev);
+                if (!setTotalSeats(ev, Integer.parseInt(seats.getText().trim()))) {
+                    JOptionPane.showMessageDialog(f, ev.bookedSeats + " seats are already booked for " + ev.name + ".", "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                int promoted = waiting - waitlistSize(ev);
+                Services.onEdt(durable(), v -> {
+                    JOptionPane.showMessageDialog(f, ev.name + " now has " + ev.totalSeats + " seats; " + promoted + " promoted from the waitlist.");
+                    view.showEvents();
+                });
+            } catch (NumberFormatException ex) {
+                JOptionPane.showMessageDialog(f, "Invalid seats", "Error", JOptionPane.ERROR_MESSAGE);
             }
         });
 
-        calendarBtn.addActionListener(e -> showCalendar());
+        // Aggregated on all cores and streamed to the file; the dashboard stays usable meanwhile
+        reportsBtn.addActionListener(e -> {
+            String[] kinds = {"Per department", "Per event", "Per month", "Cancel"};
+            int k = JOptionPane.showOptionDialog(f, "Participation and medal report:", "Reports",
+                    JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, kinds, kinds[0]);
+            if (k < 0 || k > 2) return;
+            ReportEngine.Kind kind = ReportEngine.Kind.values()[k];
+            JFileChooser chooser = new JFileChooser();
+            chooser.setSelectedFile(new File(kind.name().toLowerCase(Locale.ROOT) + "-report.csv"));
+            if (chooser.showSaveDialog(f) != JFileChooser.APPROVE_OPTION) return;
+            File out = chooser.getSelectedFile();
+            long started = System.nanoTime();
+            reportsBtn.setEnabled(false);
+            reportsBtn.setText("Generating…");
+            CompletableFuture<Long> report = Services.writeReport(kind, out);
+            report.whenComplete((rows, err) -> SwingUtilities.invokeLater(() -> {
+                reportsBtn.setEnabled(true);
+                reportsBtn.setText("Reports (CSV)");
+            }));
+            Services.onEdt(report, rows -> JOptionPane.showMessageDialog(f, rows + " rows written to " + out.getName()
+                    + " in " + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) + " ms"));
+        });
+
+        diagnosticsBtn.addActionListener(e -> view.showText(Metrics.bean.report() + "\n" + EdtMonitor.currentReport()));
 
         f.setSize(900, 560);
         f.setLocationRelativeTo(null);
-        f.setVisible(true);
+        return new Dashboard(f, u -> reset(view, sidebar));
     }
 
     // ====================== FACULTY DASHBOARD ======================
-    static void facultyDashboard() {
+    static Dashboard facultyDashboard() {
         JFrame f = baseFrame("Faculty Dashboard");
         f.setLayout(new BorderLayout());
 
-        JPanel top = new JPanel(new BorderLayout());
-        JLabel head = new JLabel("Faculty Dashboard", SwingConstants.CENTER);
-        head.setOpaque(true); head.setBackground(PRIMARY); head.setForeground(Color.WHITE);
-        head.setFont(new Font("SansSerif", Font.BOLD, 18));
-        top.add(head, BorderLayout.CENTER);
-
-        JButton logout = new JButton("Logout"); styleButton(logout);
-        logout.addActionListener(e -> { f.dispose(); showLoginPage(); });
-        JPanel right = new JPanel(); right.setOpaque(false); right.add(logout);
-        top.add(right, BorderLayout.EAST);
-        f.add(top, BorderLayout.NORTH);
+        dashboardHeader(f, "Faculty Dashboard");
 
-        JTextArea area = new JTextArea(); area.setEditable(false);
-        JScrollPane scroll = new JScrollPane(area);
-        f.add(scroll, BorderLayout.CENTER);
+        DataView view = new DataView();
+        f.add(view, BorderLayout.CENTER);
+        SearchBox sidebar = searchSidebar(f, true);
+        f.add(sidebar, BorderLayout.WEST);
 
         JButton addEventBtn = new JButton("Add Event"); styleButton(addEventBtn);
         JButton viewEventsBtn = new JButton("View Events"); styleButton(viewEventsBtn);
         JButton addResultBtn = new JButton("Add/Edit Results"); styleButton(addResultBtn);
+        JButton batchResultsBtn = new JButton("Batch Results"); styleButton(batchResultsBtn);
         JButton calendarBtn = new JButton("View Calendar"); styleButton(calendarBtn);
+        JButton attendeesBtn = new JButton("Attendees"); styleButton(attendeesBtn);
+        JButton venueSlotsBtn = new JButton("Venue Free Slots"); styleButton(venueSlotsBtn);
 
-        JPanel bottom = new JPanel();
-        bottom.add(addEventBtn); bottom.add(viewEventsBtn); bottom.add(addResultBtn); bottom.add(calendarBtn);
+        JPanel bottom = new JPanel(new GridLayout(2, 0, 6, 6)); // two rows, as on the admin dashboard
+        bottom.setBorder(BorderFactory.createEmptyBorder(6, 6, 6, 6));
+        bottom.add(addEventBtn); bottom.add(viewEventsBtn); bottom.add(addResultBtn); bottom.add(batchResultsBtn);
+        bottom.add(calendarBtn); bottom.add(attendeesBtn); bottom.add(venueSlotsBtn);
         f.add(bottom, BorderLayout.SOUTH);
 
-        addEventBtn.addActionListener(e -> {
-            JTextField name = new JTextField();
-            JTextField location = new JTextField();
-            JTextField date = new JTextField(LocalDate.now().toString());
-            JTextField seats = new JTextField("50");
-            Object[] msg = {
-                    "Event name:", name,
-                    "Location:", location,
-                    "Date (YYYY-MM-DD):", date,
-                    "Total seats:", seats
-            };
-            int opt = JOptionPane.showConfirmDialog(f, msg, "Add Event", JOptionPane.OK_CANCEL_OPTION);
-            if (opt == JOptionPane.OK_OPTION) {
-                try {
-                    LocalDate d = LocalDate.parse(date.getText().trim());
-                    int s = Integer.parseInt(seats.getText().trim());
-                    events.add(new Event(name.getText().trim(), location.getText().trim(), d, s));
-                    JOptionPane.showMessageDialog(f, "Event added!");
-                } catch (Exception ex) {
-                    JOptionPane.showMessageDialog(f, "Invalid date or seats", "Error", JOptionPane.ERROR_MESSAGE);
-                }
-            }
-        });
+        addEventBtn.addActionListener(e -> showAddEvent(f));
+        venueSlotsBtn.addActionListener(e -> showVenueSlots(f, view));
+        batchResultsBtn.addActionListener(e -> showBatchResults(f, view));
 
-        viewEventsBtn.addActionListener(e -> area.setText(eventList()));
+        viewEventsBtn.addActionListener(e -> view.showEvents());
 
         addResultBtn.addActionListener(e -> {
             if (events.isEmpty()) {
@@ -393,84 +4352,296 @@ public class SmartEventOrganizerSwing {
             int opt = JOptionPane.showConfirmDialog(f, msg, "Add/Edit Result", JOptionPane.OK_CANCEL_OPTION);
             if (opt == JOptionPane.OK_OPTION) {
                 String eventName = (String) evBox.getSelectedItem();
-                results.add(new Result(eventName, studName.getText().trim(), dept.getText().trim(), pos.getText().trim()));
-                JOptionPane.showMessageDialog(f, "Result saved for " + eventName);
+                ResultBatch check = ResultBatch.single(eventName, studName.getText(), dept.getText(), pos.getText());
+                if (!check.ok()) {
+                    JOptionPane.showMessageDialog(f, check.errors.get(0), "Error", JOptionPane.ERROR_MESSAGE);
+                    return;
+                }
+                publishResult(check.rows.get(0));
+                Services.onEdt(durable(), v -> JOptionPane.showMessageDialog(f, "Result saved for " + eventName));
             }
         });
 
         calendarBtn.addActionListener(e -> showCalendar());
 
+        attendeesBtn.addActionListener(e -> showAttendees(f, view));
+
         f.setSize(900, 560);
         f.setLocationRelativeTo(null);
-        f.setVisible(true);
+        return new Dashboard(f, u -> reset(view, sidebar));
     }
 
-    // ====================== STUDENT DASHBOARD ======================
-    // We pass the logged-in student user to personalize the dashboard
-    static void studentDashboard(User student) {
-        JFrame f = baseFrame("Student Dashboard - " + student.fullName);
-        f.setLayout(new BorderLayout());
+    // Attendee list for one event, optionally narrowed to students also registered
+    // for a second one; shown in the dashboard or written out as CSV
+    static void showAttendees(JFrame f, DataView view) {
+        if (events.isEmpty()) {
+            JOptionPane.showMessageDialog(f, "No events available.");
+            return;
+        }
+        SearchBox first = new SearchBox(true, null);
+        first.setPreferredSize(new Dimension(380, 180));
+        JCheckBox narrow = new JCheckBox("Only students also registered for:");
+        SearchBox second = new SearchBox(true, null);
+        second.setPreferredSize(new Dimension(380, 180));
+        Object[] msg = {"Event:", first, narrow, second};
+        String[] actions = {"Show", "Export CSV", "Cancel"};
+        int opt = JOptionPane.showOptionDialog(f, msg, "Attendees", JOptionPane.DEFAULT_OPTION,
+                JOptionPane.PLAIN_MESSAGE, null, actions, actions[0]);
+        if (opt != 0 && opt != 1) return;
+        if (first.selected() == null || (narrow.isSelected() && second.selected() == null)) {
+            JOptionPane.showMessageDialog(f, "No matching event selected.");
+            return;
+        }
+        Event ev = first.selected().event();
+        Event also = narrow.isSelected() ? second.selected().event() : null;
+        if (opt == 0) {
+            Services.onEdt(Services.attendeesText(ev, also), view::showText);
+            return;
+        }
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File(ev.name.replaceAll("[^A-Za-z0-9]+", "_") + "_attendees.csv"));
+        if (chooser.showSaveDialog(f) != JFileChooser.APPROVE_OPTION) return;
+        File out = chooser.getSelectedFile();
+        Services.onEdt(Services.exportAttendees(ev, also, out),
+                n -> JOptionPane.showMessageDialog(f, n + " attendees written to " + out.getName()));
+    }
 
-        JPanel top = new JPanel(new BorderLayout());
-        JLabel head = new JLabel("Student Dashboard - " + student.fullName, SwingConstants.CENTER);
-        head.setOpaque(true); head.setBackground(PRIMARY); head.setForeground(Color.WHITE);
-        head.setFont(new Font("SansSerif", Font.BOLD, 18));
-        top.add(head, BorderLayout.CENTER);
+    // Add Event for admin and faculty; a venue clash offers free slots or booking anyway
+    static void showAddEvent(JFrame f) {
+        JTextField name = new JTextField();
+        JTextField location = new JTextField();
+        JTextField date = new JTextField(LocalDate.now().toString());
+        JTextField start = new JTextField("09:00");
+        JTextField end = new JTextField("11:00");
+        JTextField seats = new JTextField("50");
+        Object[] msg = {
+                "Event name:", name,
+                "Location:", location,
+                "Date (YYYY-MM-DD):", date,
+                "Starts (HH:MM):", start,
+                "Ends (HH:MM, 24:00 = midnight):", end,
+                "Total seats:", seats
+        };
+        while (JOptionPane.showConfirmDialog(f, msg, "Add Event", JOptionPane.OK_CANCEL_OPTION) == JOptionPane.OK_OPTION) {
+            Event ev;
+            try {
+                ev = new Event(name.getText().trim(), location.getText().trim(), LocalDate.parse(date.getText().trim()),
+                        minuteOfDay(start.getText()), minuteOfDay(end.getText()), Integer.parseInt(seats.getText().trim()));
+            } catch (Exception ex) {
+                JOptionPane.showMessageDialog(f, "Invalid date, times or seats", "Error", JOptionPane.ERROR_MESSAGE);
+                continue;
+            }
+            List<Event> clashes = events.conflicts(ev);
+            if (!clashes.isEmpty()) {
+                StringBuilder sb = new StringBuilder(ev.location).append(" is already booked on ").append(ev.date).append(":\n");
+                for (Event other : clashes) sb.append("  ").append(other.name).append("  ").append(other.times()).append("\n");
+                List<EventStore.Slot> slots = events.freeSlots(ev.location, ev.date, 1, ev.endMinute - ev.startMinute);
+                sb.append("\nFree long enough that day:");
+                for (EventStore.Slot slot : slots) sb.append("  ").append(Event.clock(slot.startMinute())).append("-").append(Event.clock(slot.endMinute()));
+                if (slots.isEmpty()) sb.append("  none");
+                String[] actions = {"Change Time", "Book Anyway", "Cancel"};
+                int choice = JOptionPane.showOptionDialog(f, sb.toString(), "Venue Conflict", JOptionPane.DEFAULT_OPTION,
+                        JOptionPane.WARNING_MESSAGE, null, actions, actions[0]);
+                if (choice == 0) continue;
+                if (choice != 1) return;
+            }
+            addEvent(ev);
+            Services.onEdt(durable(), v -> JOptionPane.showMessageDialog(f, "Event added!"));
+            return;
+        }
+    }
 
-        JButton logout = new JButton("Logout"); styleButton(logout);
-        logout.addActionListener(e -> { f.dispose(); showLoginPage(); });
-        JPanel right = new JPanel(); right.setOpaque(false); right.add(logout);
-        top.add(right, BorderLayout.EAST);
-        f.add(top, BorderLayout.NORTH);
+    // "9:30" or "09:30"; "24:00" ends an event at midnight
+    static int minuteOfDay(String text) {
+        String t = text.trim();
+        if (t.equals("24:00")) return Event.DAY_MINUTES;
+        LocalTime time = LocalTime.parse(t.length() == 4 ? "0" + t : t);
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    // A week of free slots at one venue, shown in the dashboard
+    static void showVenueSlots(JFrame f, DataView view) {
+        List<String> venues = events.venues();
+        if (venues.isEmpty()) {
+            JOptionPane.showMessageDialog(f, "No venues booked yet.");
+            return;
+        }
+        JComboBox<String> venue = new JComboBox<>(venues.toArray(new String[0]));
+        venue.setEditable(true);
+        JTextField from = new JTextField(LocalDate.now().toString());
+        Object[] msg = {"Venue:", venue, "Week starting (YYYY-MM-DD):", from};
+        if (JOptionPane.showConfirmDialog(f, msg, "Venue Free Slots", JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION) return;
+        LocalDate d;
+        try {
+            d = LocalDate.parse(from.getText().trim());
+        } catch (Exception ex) {
+            JOptionPane.showMessageDialog(f, "Invalid date", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
+        }
+        Services.onEdt(Services.freeSlotsText(String.valueOf(venue.getSelectedItem()), d), view::showText);
+    }
+
+    // Results for a whole event at once (see ResultBatch); the sheet stays open until it passes
+    static void showBatchResults(JFrame f, DataView view) {
+        if (events.isEmpty()) {
+            JOptionPane.showMessageDialog(f, "No events available to publish results for.");
+            return;
+        }
+        String[] evNames = events.stream().map(ev -> ev.name).toArray(String[]::new);
+        JComboBox<String> evBox = new JComboBox<>(evNames);
+        JTextArea sheet = new JTextArea(16, 44);
+        sheet.setFont(new Font(Font.MONOSPACED, Font.PLAIN, 13));
+        JScrollPane scroll = new JScrollPane(sheet);
+        Object[] msg = {"Select Event:", evBox, "One result per line: student,department,position", scroll};
+        String[] actions = {"Validate & Publish", "Load CSV...", "Cancel"};
+        while (true) {
+            int opt = JOptionPane.showOptionDialog(f, msg, "Batch Results", JOptionPane.DEFAULT_OPTION,
+                    JOptionPane.PLAIN_MESSAGE, null, actions, actions[0]);
+            if (opt == 1) {
+                JFileChooser chooser = new JFileChooser();
+                chooser.setDialogTitle("CSV: student,department,position");
+                if (chooser.showOpenDialog(f) != JFileChooser.APPROVE_OPTION) continue;
+                try {
+                    sheet.setText(Files.readString(chooser.getSelectedFile().toPath(), StandardCharsets.UTF_8));
+                    sheet.setCaretPosition(0);
+                } catch (IOException ex) {
+                    JOptionPane.showMessageDialog(f, "Could not read file: " + ex.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+                }
+                continue;
+            }
+            if (opt != 0) return;
+            String eventName = (String) evBox.getSelectedItem();
+            ResultBatch batch = ResultBatch.parse(eventName, sheet.getText());
+            if (!batch.ok()) {
+                JTextArea problems = new JTextArea(batch.summary(), 12, 50);
+                problems.setEditable(false);
+                JOptionPane.showMessageDialog(f, new JScrollPane(problems), "Batch Results", JOptionPane.WARNING_MESSAGE);
+                continue;
+            }
+            publishResults(batch.rows);
+            Services.onEdt(durable(), v -> {
+                JOptionPane.showMessageDialog(f, batch.rows.size() + " results published for event: " + eventName);
+                Services.onEdt(Services.resultsText(eventName), view::showText);
+            });
+            return;
+        }
+    }
+
+    // ====================== STUDENT DASHBOARD ======================
+    // One frame for every student; handlers read currentUser when clicked
+    static Dashboard studentDashboard() {
+        JFrame f = baseFrame("Student Dashboard");
+        f.setLayout(new BorderLayout());
+        JLabel head = dashboardHeader(f, "Student Dashboard");
 
-        JTextArea area = new JTextArea(); area.setEditable(false);
-        JScrollPane scroll = new JScrollPane(area);
-        f.add(scroll, BorderLayout.CENTER);
+        DataView view = new DataView();
+        f.add(view, BorderLayout.CENTER);
+        SearchBox sidebar = searchSidebar(f, true);
+        f.add(sidebar, BorderLayout.WEST);
 
         JButton viewEventsBtn = new JButton("View Events"); styleButton(viewEventsBtn);
         JButton registerBtn = new JButton("Register"); styleButton(registerBtn);
+        JButton myEventsBtn = new JButton("My Events"); styleButton(myEventsBtn);
+        JButton cancelBtn = new JButton("Cancel Registration"); styleButton(cancelBtn);
         JButton viewCalendarBtn = new JButton("View Calendar"); styleButton(viewCalendarBtn);
         JButton viewResultsBtn = new JButton("View Results by Event"); styleButton(viewResultsBtn);
 
         JPanel bottom = new JPanel();
-        bottom.add(viewEventsBtn); bottom.add(registerBtn); bottom.add(viewCalendarBtn); bottom.add(viewResultsBtn);
+        bottom.add(viewEventsBtn); bottom.add(registerBtn); bottom.add(myEventsBtn); bottom.add(cancelBtn); bottom.add(viewCalendarBtn); bottom.add(viewResultsBtn);
         f.add(bottom, BorderLayout.SOUTH);
 
-        viewEventsBtn.addActionListener(e -> area.setText(eventList()));
+        viewEventsBtn.addActionListener(e -> view.showEvents());
 
         viewCalendarBtn.addActionListener(e -> showCalendar());
 
-        // Register with 5-second reminder popup using Swing Timer (non-blocking)
+        // Register, then offer a reminder; it goes on the timing wheel and shows as a toast when due
         registerBtn.addActionListener(e -> {
+            User student = currentUser;
             if (events.isEmpty()) {
                 JOptionPane.showMessageDialog(f, "No events available.");
                 return;
             }
-            String[] evNames = events.stream().map(ev -> ev.name + " (" + ev.date + ")").toArray(String[]::new);
-            JComboBox<String> evBox = new JComboBox<>(evNames);
-            Object[] msg = {"Select event to register:", evBox};
+            SearchBox picker = new SearchBox(true, null);
+            picker.setPreferredSize(new Dimension(420, 260));
+            Object[] msg = {"Search event to register:", picker};
             int opt = JOptionPane.showConfirmDialog(f, msg, "Register for Event", JOptionPane.OK_CANCEL_OPTION);
             if (opt == JOptionPane.OK_OPTION) {
-                int idx = evBox.getSelectedIndex();
-                final Event ev = events.get(idx);
-                if (ev.bookedSeats < ev.totalSeats) {
-                    ev.bookedSeats++;
-                    JOptionPane.showMessageDialog(f, "Registered for " + ev.name + "!");
-                    // Ask for a reminder
-                    int rem = JOptionPane.showConfirmDialog(f, "Do you want a reminder for this event in 5 seconds?", "Reminder", JOptionPane.YES_NO_OPTION);
-                    if (rem == JOptionPane.YES_OPTION) {
-                        // Show popup after 5 seconds
-                        Timer t = new Timer(5000, evt -> showReminderPopup(ev, student));
-                        t.setRepeats(false);
-                        t.start();
-                    }
-                    area.setText(eventList());
+                if (picker.selected() == null) {
+                    JOptionPane.showMessageDialog(f, "No matching event selected.");
+                    return;
+                }
+                final Event ev = picker.selected().event();
+                if (registrations.isRegistered(ev.id, student.id)) {
+                    JOptionPane.showMessageDialog(f, "You are already registered for " + ev.name + ".");
+                } else if (register(ev, student)) {
+                    Services.onEdt(durable(), v -> {
+                        JOptionPane.showMessageDialog(f, "Registered for " + ev.name + "!");
+                        // Ask for a reminder (kept across restarts; fires right away if that time has passed)
+                        String[] when = {"24 hours before", "1 hour before", "In 5 seconds", "No reminder"};
+                        int rem = JOptionPane.showOptionDialog(f, "Do you want a reminder for this event?", "Reminder",
+                                JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, when, when[0]);
+                        long startsAt = ev.date.atTime(LocalTime.ofSecondOfDay(ev.startMinute * 60L))
+                                .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                        switch (rem) {
+                            case 0 -> scheduleReminder(ev, student, startsAt - TimeUnit.HOURS.toMillis(24));
+                            case 1 -> scheduleReminder(ev, student, startsAt - TimeUnit.HOURS.toMillis(1));
+                            case 2 -> scheduleReminder(ev, student, System.currentTimeMillis() + 5000);
+                            default -> { }
+                        }
+                        view.showEvents();
+                    });
+                } else if (waitlistPosition(ev, student) > 0) {
+                    JOptionPane.showMessageDialog(f, "You are #" + waitlistPosition(ev, student) + " on the waitlist for " + ev.name + ".");
                 } else {
-                    JOptionPane.showMessageDialog(f, "Sorry, event is full.");
+                    int join = JOptionPane.showConfirmDialog(f, ev.name + " is full (" + waitlistSize(ev) + " waiting).\nJoin the waitlist?",
+                            "Event Full", JOptionPane.YES_NO_OPTION);
+                    if (join == JOptionPane.YES_OPTION && joinWaitlist(ev, student)) {
+                        int place = waitlistPosition(ev, student);
+                        Services.onEdt(durable(), v -> {
+                            JOptionPane.showMessageDialog(f, place == 0 ? "A seat opened up: registered for " + ev.name + "!"
+                                    : "You are #" + place + " on the waitlist. You'll be registered automatically when a seat opens.");
+                            view.showEvents();
+                        });
+                    }
                 }
             }
         });
 
+        // Registered and waitlisted events; cancelling a registration hands the seat to the waitlist
+        cancelBtn.addActionListener(e -> {
+            User student = currentUser;
+            ArrayList<Event> mine = new ArrayList<>();
+            ArrayList<String> labels = new ArrayList<>();
+            for (int id : registrations.eventsOf(student.id)) {
+                mine.add(events.get(id));
+                labels.add(events.get(id).name + " (" + events.get(id).date + ")");
+            }
+            for (int id : waitlist.eventsOf(student.id)) {
+                Event ev = events.get(id);
+                int place = waitlistPosition(ev, student);
+                if (place > 0) {
+                    mine.add(ev);
+                    labels.add(ev.name + " (waitlist #" + place + ")");
+                }
+            }
+            if (mine.isEmpty()) {
+                JOptionPane.showMessageDialog(f, "You have no registrations to cancel.");
+                return;
+            }
+            JComboBox<String> box = new JComboBox<>(labels.toArray(String[]::new));
+            Object[] msg = {"Cancel registration for:", box};
+            if (JOptionPane.showConfirmDialog(f, msg, "Cancel Registration", JOptionPane.OK_CANCEL_OPTION) != JOptionPane.OK_OPTION) return;
+            Event ev = mine.get(box.getSelectedIndex());
+            if (unregister(ev, student) || leaveWaitlist(ev, student)) {
+                Services.onEdt(durable(), v -> {
+                    JOptionPane.showMessageDialog(f, "Cancelled: " + ev.name);
+                    view.showEvents();
+                });
+            }
+        });
+
+        myEventsBtn.addActionListener(e -> Services.onEdt(Services.myEventsText(currentUser), view::showText));
+
         // Student-view: select event and see all results for that event
         viewResultsBtn.addActionListener(e -> {
             if (events.isEmpty()) {
@@ -483,109 +4654,231 @@ public class SmartEventOrganizerSwing {
             int opt = JOptionPane.showConfirmDialog(f, msg, "View Results", JOptionPane.OK_CANCEL_OPTION);
             if (opt == JOptionPane.OK_OPTION) {
                 String eventName = (String) evBox.getSelectedItem();
-                StringBuilder sb = new StringBuilder();
-                sb.append("Results for: ").append(eventName).append("\n\n");
-                int count = 0;
-                for (Result r : results) {
-                    if (r.eventName.equals(eventName)) {
-                        count++;
-                        sb.append(count).append(". ").append(r.studentName)
-                          .append(" | ").append(r.department)
-                          .append(" | ").append(r.position).append("\n");
-                    }
-                }
-                if (count == 0) sb.append("No results published for this event yet.");
-                else sb.append("\n🎉 Congratulations to all winners!");
-                area.setText(sb.toString());
+                Services.onEdt(Services.resultsText(eventName), view::showText);
             }
         });
 
         f.setSize(900, 560);
         f.setLocationRelativeTo(null);
-        f.setVisible(true);
+        return new Dashboard(f, u -> {
+            f.setTitle("Student Dashboard - " + u.fullName);
+            head.setText("Student Dashboard - " + u.fullName);
+            reset(view, sidebar);
+        });
     }
 
-    // -------------------- Reminder Popup (after registration) --------------------
-    // Simple animated popup with student's name and event details
-    static void showReminderPopup(Event ev, User student) {
-        JDialog dlg = new JDialog((Frame) null, "Reminder", false);
-        dlg.setUndecorated(true);
-        dlg.setSize(380, 160);
-
-        // center on screen
-        Dimension screen = Toolkit.getDefaultToolkit().getScreenSize();
-        int x = (screen.width - dlg.getWidth()) / 2;
-        int y = (screen.height - dlg.getHeight()) / 2;
-        dlg.setLocation(x, y + 30);
-
-        JPanel panel = new JPanel();
-        panel.setBackground(new Color(30, 30, 30));
-        panel.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(new Color(200, 200, 80), 2), BorderFactory.createEmptyBorder(10, 10, 10, 10)));
-        panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
-
-        JLabel title = new JLabel("🔔 Reminder", SwingConstants.CENTER);
-        title.setFont(new Font("SansSerif", Font.BOLD, 18));
-        title.setForeground(new Color(250, 220, 120));
-        title.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-        JLabel line1 = new JLabel("Hi " + (student.fullName.isEmpty() ? student.username : student.fullName) + ", you registered for:");
-        line1.setForeground(Color.WHITE);
-        line1.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-        JLabel line2 = new JLabel(ev.name + "  •  " + ev.date + "  •  " + ev.location, SwingConstants.CENTER);
-        line2.setForeground(Color.LIGHT_GRAY);
-        line2.setAlignmentX(Component.CENTER_ALIGNMENT);
-
-        panel.add(title);
-        panel.add(Box.createVerticalStrut(8));
-        panel.add(line1);
-        panel.add(Box.createVerticalStrut(4));
-        panel.add(line2);
-
-        dlg.add(panel);
-        try { dlg.setOpacity(0f); } catch (Exception ignored) {}
-        dlg.setVisible(true);
-
-        // fade in using Swing Timer
-        final int steps = 20;
-        final int interval = 20;
-        final int[] s = {0};
-        Timer fadeIn = new Timer(interval, null);
-        fadeIn.addActionListener(ae -> {
-            s[0]++;
-            float alpha = Math.min(1f, s[0] / (float) steps);
-            try { dlg.setOpacity(alpha); } catch (Exception ignored) {}
-            int offset = (int) ((1 - alpha) * 30);
-            dlg.setLocation(x, y + offset);
-            if (s[0] >= steps) fadeIn.stop();
-        });
-        fadeIn.start();
-
-        // auto fade out after 6 seconds
-        Timer wait = new Timer(6000, null);
-        wait.addActionListener(ae -> {
-            wait.stop();
-            final int[] tstep = {steps};
-            Timer fadeOut = new Timer(interval, null);
-            fadeOut.addActionListener(fae -> {
-                tstep[0]--;
-                float alpha = Math.max(0f, tstep[0] / (float) steps);
-                try { dlg.setOpacity(alpha); } catch (Exception ignored) {}
-                int offset = (int) ((1 - alpha) * 30);
-                dlg.setLocation(x, y + offset);
-                if (tstep[0] <= 0) {
-                    fadeOut.stop();
-                    dlg.dispose();
+    // -------------------- Reminder notifications --------------------
+    // Reminder and waitlist toasts, merged per student into at most MAX_TOASTS
+    // reused dialogs; past MAX_QUEUED the rest fold into one "+N more" notice.
+    static final NotificationCenter notifications = new NotificationCenter();
+
+    static class NotificationCenter {
+        static final int MAX_TOASTS = 3, MAX_QUEUED = 20, LISTED = 3;
+        static final int FADE_MS = 400, HOLD_MS = 6000, FRAME_MS = 20;
+        static final int WIDTH = 380, HEIGHT = 160, GAP = 10, SLIDE = 30;
+
+        static class Notice {
+            final User student; // null for the overflow summary
+            final boolean promoted; // off a waitlist rather than a reminder
+            final ArrayList<Event> events = new ArrayList<>(LISTED); // first few, for the text
+            int total;
+
+            Notice(User student, boolean promoted) {
+                this.student = student;
+                this.promoted = promoted;
+            }
+
+            boolean merges(User student, boolean promoted) {
+                return this.student == student && this.promoted == promoted;
+            }
+
+            void add(Event ev) {
+                if (events.size() < LISTED) events.add(ev);
+                total++;
+            }
+
+            String title() {
+                if (student == null) return "🔔 Notifications";
+                return promoted ? "🎉 Off the waitlist" : "🔔 Reminder";
+            }
+
+            String line1() {
+                if (student == null) return total + " more notifications";
+                String name = student.fullName.isEmpty() ? student.username : student.fullName;
+                if (promoted) {
+                    return total == 1 ? "Hi " + name + ", a seat opened up. You're registered for:"
+                            : "Hi " + name + ", you're now registered for " + total + " events:";
                 }
-            });
-            fadeOut.start();
-        });
-        wait.setRepeats(false);
-        wait.start();
+                if (total == 1) return "Hi " + name + ", you registered for:";
+                return "Hi " + name + ", you have " + total + " events " + when() + ":";
+            }
+
+            String line2() {
+                if (student == null) return "Open My Events for details";
+                if (total == 1) {
+                    Event ev = events.get(0);
+                    return ev.name + "  •  " + ev.date + "  •  " + ev.location;
+                }
+                StringBuilder sb = new StringBuilder();
+                for (Event ev : events) {
+                    if (sb.length() > 0) sb.append(", ");
+                    sb.append(ev.name);
+                }
+                if (total > events.size()) sb.append(" +").append(total - events.size()).append(" more");
+                return sb.toString();
+            }
+
+            // "tomorrow" etc. when every listed event is on the same day
+            private String when() {
+                LocalDate day = events.get(0).date;
+                for (Event ev : events) {
+                    if (!ev.date.equals(day)) return "coming up";
+                }
+                LocalDate today = LocalDate.now();
+                if (day.equals(today)) return "today";
+                if (day.equals(today.plusDays(1))) return "tomorrow";
+                return "on " + day;
+            }
+        }
+
+        private static class Toast {
+            final JDialog dlg = new JDialog((Frame) null, "Reminder", false);
+            final JLabel title = new JLabel("", SwingConstants.CENTER);
+            final JLabel line1 = new JLabel("", SwingConstants.CENTER);
+            final JLabel line2 = new JLabel("", SwingConstants.CENTER);
+            final int x, y;
+            Notice notice;   // null when the toast is free
+            long shownAt;    // nanoTime the fade-in started
+            float alpha = -1;
+
+            Toast(int slot) {
+                dlg.setUndecorated(true);
+                dlg.setSize(WIDTH, HEIGHT);
+                dlg.setFocusableWindowState(false);
+                Dimension screen = Toolkit.getDefaultToolkit().getScreenSize();
+                x = (screen.width - WIDTH) / 2;
+                y = (screen.height - MAX_TOASTS * (HEIGHT + GAP)) / 2 + slot * (HEIGHT + GAP);
+
+                JPanel panel = new JPanel();
+                panel.setBackground(new Color(30, 30, 30));
+                panel.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createLineBorder(new Color(200, 200, 80), 2), BorderFactory.createEmptyBorder(10, 10, 10, 10)));
+                panel.setLayout(new BoxLayout(panel, BoxLayout.Y_AXIS));
+                title.setFont(TITLE_FONT);
+                title.setForeground(new Color(250, 220, 120));
+                line1.setForeground(Color.WHITE);
+                line2.setForeground(Color.LIGHT_GRAY);
+                for (JLabel l : new JLabel[]{title, line1, line2}) l.setAlignmentX(Component.CENTER_ALIGNMENT);
+                panel.add(title);
+                panel.add(Box.createVerticalStrut(8));
+                panel.add(line1);
+                panel.add(Box.createVerticalStrut(4));
+                panel.add(line2);
+                dlg.add(panel);
+            }
+
+            void bind(Notice n) {
+                notice = n;
+                title.setText(n.title());
+                line1.setText(n.line1());
+                line2.setText(n.line2());
+            }
+        }
+
+        private final ArrayDeque<Notice> queue = new ArrayDeque<>();
+        private final Toast[] toasts = new Toast[MAX_TOASTS]; // created on first use
+        private final Timer clock = new Timer(FRAME_MS, e -> frame());
+        private Notice overflow;
+
+        // EDT only
+        void post(Event ev, User student, boolean promoted) {
+            long now = System.nanoTime();
+            for (Toast t : toasts) {
+                if (t != null && t.notice != null && t.notice.merges(student, promoted) && now - t.shownAt < TimeUnit.MILLISECONDS.toNanos(FADE_MS + HOLD_MS)) {
+                    t.notice.add(ev);
+                    t.bind(t.notice);
+                    t.shownAt = Math.min(t.shownAt, now - TimeUnit.MILLISECONDS.toNanos(FADE_MS)); // hold again from full opacity
+                    return;
+                }
+            }
+            for (Notice n : queue) {
+                if (n.merges(student, promoted)) {
+                    n.add(ev);
+                    return;
+                }
+            }
+            if (queue.size() >= MAX_QUEUED) {
+                if (overflow == null) {
+                    overflow = new Notice(null, false);
+                    queue.addLast(overflow);
+                }
+                overflow.add(ev);
+                return;
+            }
+            Notice n = new Notice(student, promoted);
+            n.add(ev);
+            queue.addLast(n);
+            pump();
+        }
+
+        int queued() {
+            return queue.size();
+        }
+
+        // Moves waiting notices into free toasts
+        private void pump() {
+            if (GraphicsEnvironment.isHeadless()) return;
+            for (int i = 0; i < MAX_TOASTS && !queue.isEmpty(); i++) {
+                if (toasts[i] == null) toasts[i] = new Toast(i);
+                Toast t = toasts[i];
+                if (t.notice != null) continue;
+                Notice n = queue.pollFirst();
+                if (n == overflow) overflow = null;
+                t.bind(n);
+                t.shownAt = System.nanoTime();
+                t.alpha = -1;
+                apply(t, 0f);
+                t.dlg.setVisible(true);
+            }
+            if (!clock.isRunning()) clock.start();
+        }
+
+        // One tick of the shared frame clock: advances every visible toast
+        private void frame() {
+            long now = System.nanoTime();
+            boolean animating = false;
+            for (Toast t : toasts) {
+                if (t == null || t.notice == null) continue;
+                long ms = TimeUnit.NANOSECONDS.toMillis(now - t.shownAt);
+                float alpha;
+                if (ms < FADE_MS) alpha = ms / (float) FADE_MS;
+                else if (ms < FADE_MS + HOLD_MS) alpha = 1f;
+                else alpha = 1f - (ms - FADE_MS - HOLD_MS) / (float) FADE_MS;
+                if (alpha <= 0f) {
+                    t.dlg.setVisible(false);
+                    t.notice = null;
+                    continue;
+                }
+                apply(t, Math.min(1f, alpha));
+                animating = true;
+            }
+            if (!queue.isEmpty()) {
+                pump();
+                animating = true;
+            }
+            if (!animating) clock.stop();
+        }
+
+        private static void apply(Toast t, float alpha) {
+            if (alpha == t.alpha) return; // holding: nothing to do this frame
+            t.alpha = alpha;
+            try { t.dlg.setOpacity(alpha); } catch (Exception ignored) {}
+            t.dlg.setLocation(t.x, t.y + (int) ((1 - alpha) * SLIDE));
+        }
     }
 
     // ====================== Calendar (simple with highlighted event days) ======================
     static void showCalendar() {
+        long t0 = System.nanoTime();
         JFrame f = new JFrame("Event Calendar");
         f.setSize(700, 520);
         f.setLocationRelativeTo(null);
@@ -593,7 +4886,7 @@ public class SmartEventOrganizerSwing {
 
         JLabel head = new JLabel("Calendar View", SwingConstants.CENTER);
         head.setOpaque(true); head.setBackground(PRIMARY); head.setForeground(Color.WHITE);
-        head.setFont(new Font("SansSerif", Font.BOLD, 18));
+        head.setFont(TITLE_FONT);
         f.add(head, BorderLayout.NORTH);
 
         JPanel container = new JPanel(new BorderLayout());
@@ -610,97 +4903,480 @@ public class SmartEventOrganizerSwing {
         lbl.setFont(new Font("SansSerif", Font.BOLD, 16));
         nav.add(prev); nav.add(lbl); nav.add(next);
 
-        JPanel daysPanel = new JPanel(new GridLayout(0, 7, 6, 6));
-        daysPanel.setBackground(BG);
+        MonthGrid grid = new MonthGrid(LocalDate.now().withDayOfMonth(1));
 
-        daysWrapper.add(daysPanel, BorderLayout.CENTER);
+        daysWrapper.add(grid, BorderLayout.CENTER);
         container.add(daysWrapper, BorderLayout.CENTER);
         f.add(container, BorderLayout.CENTER);
         f.add(nav, BorderLayout.SOUTH);
 
-        final LocalDate[] month = {LocalDate.now().withDayOfMonth(1)};
-
         Runnable render = () -> {
-            daysPanel.removeAll();
-            lbl.setText(month[0].getMonth() + " " + month[0].getYear());
-
-            String[] dayNames = {"Sun", "Mon", "Tue", "Wed", "Thu", "Fri", "Sat"};
-            for (String dn : dayNames) {
-                JLabel lab = new JLabel(dn, SwingConstants.CENTER);
-                lab.setFont(new Font("SansSerif", Font.BOLD, 13));
-                lab.setForeground(PRIMARY);
-                daysPanel.add(lab);
-            }
-
-            int start = month[0].getDayOfWeek().getValue() % 7;
-            for (int i = 0; i < start; i++) daysPanel.add(new JLabel(""));
-
-            int count = month[0].lengthOfMonth();
-            for (int i = 1; i <= count; i++) {
-                LocalDate date = month[0].withDayOfMonth(i);
-                JButton btn = new JButton(String.valueOf(i));
-                btn.setFocusPainted(false);
-                btn.setBackground(Color.WHITE);
-                btn.setBorder(BorderFactory.createLineBorder(new Color(220, 220, 220)));
-                btn.setPreferredSize(new Dimension(46, 46));
-                btn.setFont(new Font("SansSerif", Font.PLAIN, 13));
-
-                int eventsOnDay = 0;
-                for (Event ev : events) if (ev.date.equals(date)) eventsOnDay++;
-
-                if (eventsOnDay > 0) {
-                    btn.setBackground(new Color(255, 236, 179)); // gold-ish
-                    btn.setForeground(Color.BLACK);
-                    if (eventsOnDay == 1) btn.setText(i + " •");
-                    else btn.setText(i + " (" + eventsOnDay + ")");
-                }
-
-                LocalDate finalDate = date;
-                btn.addActionListener(ae -> showEventsForDate(finalDate));
-                daysPanel.add(btn);
+            YearMonth shown = grid.month();
+            lbl.setText(shown.getMonth() + " " + shown.getYear());
+            int[] cached = monthCache.get(shown);
+            if (cached != null) {
+                grid.setCounts(shown, cached);
+                return;
             }
-
-            daysPanel.revalidate();
-            daysPanel.repaint();
+            // Not cached: count off the EDT; drop the result if the user has paged on since
+            long generation = monthCache.generation();
+            Services.onEdt(Services.monthCounts(shown), counts -> {
+                monthCache.put(shown, counts, generation);
+                grid.setCounts(shown, counts);
+            });
         };
 
         prev.addActionListener(e -> {
-            month[0] = month[0].minusMonths(1);
+            grid.setMonth(grid.month().minusMonths(1));
             render.run();
         });
         next.addActionListener(e -> {
-            month[0] = month[0].plusMonths(1);
+            grid.setMonth(grid.month().plusMonths(1));
             render.run();
         });
 
         render.run();
         f.setVisible(true);
+        Metrics.calendarOpen.record(System.nanoTime() - t0);
     }
 
     // Show events details for a specific date
     static void showEventsForDate(LocalDate date) {
         StringBuilder sb = new StringBuilder("Events on " + date + ":\n\n");
-        boolean found = false;
-        for (Event ev : events) {
-            if (ev.date.equals(date)) {
-                sb.append(ev.name).append(" @ ").append(ev.location)
-                  .append("\nSeats: ").append(ev.bookedSeats).append("/").append(ev.totalSeats).append("\n\n");
-                found = true;
-            }
+        List<Event> onDay = events.onDate(date);
+        boolean found = !onDay.isEmpty();
+        for (Event ev : onDay) {
+            sb.append(ev.name).append(" @ ").append(ev.location)
+              .append("\nSeats: ").append(ev.bookedSeats).append("/").append(ev.totalSeats).append("\n\n");
         }
         if (!found) sb.append("No events scheduled on this date.");
         JOptionPane.showMessageDialog(null, sb.toString(), "Events", JOptionPane.INFORMATION_MESSAGE);
     }
 
+    // ====================== Mutations ======================
+    // Every change to the stores goes through here so it is journaled as well.
+    // Each holds changeGate shared while it journals and applies a change, and adds
+    // hold storeLock; off the EDT a helper returns once its records are on disk.
+    static boolean addUser(User u) {
+        changeGate.readLock().lock();
+        storeLock.lock();
+        try {
+            if (!addUserLocked(u)) return false;
+        } finally {
+            storeLock.unlock();
+            changeGate.readLock().unlock();
+        }
+        awaitDurable();
+        return true;
+    }
+
+    // Returns how many were added; usernames taken in the meantime are skipped
+    static int addUsers(List<User> batch) {
+        int added = 0;
+        changeGate.readLock().lock();
+        storeLock.lock();
+        try {
+            for (User u : batch) {
+                if (addUserLocked(u)) added++;
+            }
+        } finally {
+            storeLock.unlock();
+            changeGate.readLock().unlock();
+        }
+        awaitDurable();
+        return added;
+    }
+
+    private static boolean addUserLocked(User u) {
+        if (users.exists(u.username)) return false;
+        if (journal != null) journal.logUser(u);
+        users.add(u);
+        searchIndex.addUser(u);
+        usersVersion.incrementAndGet();
+        return true;
+    }
+
+    // Waits for the group commit, after locks are released. The EDT never waits on a sync:
+    // UI handlers chain their confirmation on durable() instead.
+    static void awaitDurable() {
+        if (!SwingUtilities.isEventDispatchThread()) durable().join();
+    }
+
+    // Completes once every change so far is on disk. A failed journal has already told the
+    // user (Journal.fail) and the change is applied in memory, so this never fails.
+    static CompletableFuture<Void> durable() {
+        Journal j = journal;
+        return j == null ? CompletableFuture.completedFuture(null) : j.flushed().exceptionally(ex -> null);
+    }
+
+    static void addEvent(Event ev) {
+        changeGate.readLock().lock();
+        storeLock.lock();
+        try {
+            if (journal != null) journal.logEvent(ev);
+            events.add(ev);
+            searchIndex.addEvent(ev);
+            monthCache.invalidate(YearMonth.from(ev.date));
+            eventsVersion.incrementAndGet();
+        } finally {
+            storeLock.unlock();
+            changeGate.readLock().unlock();
+        }
+        awaitDurable();
+    }
+
+    // Seat changes for one event (register, cancel, waitlist, capacity) hold that
+    // event's monitor; see Waitlist.
+
+    // false if the event is full (or has a queue) or the student is already registered
+    static boolean register(Event ev, User student) {
+        // timing costs two clock reads, so only a sample of registrations is timed
+        long t0 = (ThreadLocalRandom.current().nextInt() & Metrics.SAMPLE_MASK) == 0 ? System.nanoTime() : 0;
+        try {
+            changeGate.readLock().lock();
+            try {
+                synchronized (ev) {
+                    if (registrations.isRegistered(ev.id, student.id)) {
+                        Metrics.duplicateRejections.increment();
+                        return false;
+                    }
+                    if (waitlist.size(ev.id) > 0 || !ev.reserve()) {
+                        Metrics.fullRejections.increment();
+                        return false;
+                    }
+                    if (journal != null) journal.logRegistration(ev, student, true);
+                    registrations.add(ev.id, student.id);
+                }
+            } finally {
+                changeGate.readLock().unlock();
+            }
+            eventsVersion.incrementAndGet();
+            Metrics.registrations.increment();
+            awaitDurable();
+            return true;
+        } finally {
+            if (t0 != 0) Metrics.register.record(System.nanoTime() - t0);
+        }
+    }
+
+    // Releases the seat, which goes to the head of the waitlist if there is one,
+    // and drops the student's reminder for the event
+    static boolean unregister(Event ev, User student) {
+        List<User> promoted;
+        changeGate.readLock().lock();
+        try {
+            synchronized (ev) {
+                if (!registrations.isRegistered(ev.id, student.id)) return false;
+                if (journal != null) journal.logRegistration(ev, student, false);
+                registrations.remove(ev.id, student.id);
+                ev.cancel();
+                Reminder r = reminders.cancel(ev.id, student.username);
+                if (r != null && journal != null) journal.logReminderDone(r.id);
+                promoted = promote(ev);
+            }
+        } finally {
+            changeGate.readLock().unlock();
+        }
+        eventsVersion.incrementAndGet();
+        notifyPromoted(ev, promoted);
+        awaitDurable();
+        return true;
+    }
+
+    // false if already registered or waiting; may be promoted straight away
+    static boolean joinWaitlist(Event ev, User student) {
+        List<User> promoted;
+        changeGate.readLock().lock();
+        try {
+            synchronized (ev) {
+                if (registrations.isRegistered(ev.id, student.id) || waitlist.contains(ev.id, student.id)) return false;
+                if (journal != null) journal.logWaitlist(ev, student, true);
+                waitlist.add(ev.id, student.id);
+                promoted = promote(ev);
+            }
+        } finally {
+            changeGate.readLock().unlock();
+        }
+        Metrics.waitlistJoins.increment();
+        eventsVersion.incrementAndGet();
+        notifyPromoted(ev, promoted);
+        awaitDurable();
+        return true;
+    }
+
+    static boolean leaveWaitlist(Event ev, User student) {
+        changeGate.readLock().lock();
+        try {
+            synchronized (ev) {
+                if (!waitlist.contains(ev.id, student.id)) return false;
+                if (journal != null) journal.logWaitlist(ev, student, false);
+                waitlist.remove(ev.id, student.id);
+            }
+        } finally {
+            changeGate.readLock().unlock();
+        }
+        eventsVersion.incrementAndGet();
+        awaitDurable();
+        return true;
+    }
+
+    // 1-based place in the event's queue, or 0
+    static int waitlistPosition(Event ev, User student) {
+        synchronized (ev) {
+            return waitlist.position(ev.id, student.id);
+        }
+    }
+
+    static int waitlistSize(Event ev) {
+        synchronized (ev) {
+            return waitlist.size(ev.id);
+        }
+    }
+
+    // Capacity can't drop below the seats already booked; extra seats go to the waitlist first
+    static boolean setTotalSeats(Event ev, int totalSeats) {
+        List<User> promoted;
+        changeGate.readLock().lock();
+        try {
+            synchronized (ev) {
+                if (totalSeats < ev.bookedSeats) return false;
+                ev.totalSeats = totalSeats;
+                if (journal != null) journal.logTotalSeats(ev);
+                promoted = promote(ev);
+            }
+        } finally {
+            changeGate.readLock().unlock();
+        }
+        eventsVersion.incrementAndGet();
+        notifyPromoted(ev, promoted);
+        awaitDurable();
+        return true;
+    }
+
+    // Fills free seats from the head of the queue; caller holds ev's monitor
+    private static List<User> promote(Event ev) {
+        List<User> promoted = List.of();
+        while (ev.freeSeats() > 0 && waitlist.size(ev.id) > 0) {
+            User u = users.get(waitlist.poll(ev.id));
+            ev.reserve();
+            if (journal != null) journal.logRegistration(ev, u, true);
+            registrations.add(ev.id, u.id);
+            Metrics.waitlistPromotions.increment();
+            if (promoted.isEmpty()) promoted = new ArrayList<>();
+            promoted.add(u);
+        }
+        return promoted;
+    }
+
+    private static void notifyPromoted(Event ev, List<User> promoted) {
+        if (promoted.isEmpty() || GraphicsEnvironment.isHeadless()) return;
+        SwingUtilities.invokeLater(() -> {
+            for (User u : promoted) notifications.post(ev, u, true);
+        });
+    }
+
+    // null if the student is no longer registered; replaces any reminder they already had for ev
+    static Reminder scheduleReminder(Event ev, User u, long dueMillis) {
+        Reminder r = new Reminder(reminders.newId(), ev.id, u.username, dueMillis);
+        changeGate.readLock().lock();
+        try {
+            synchronized (ev) {
+                if (!registrations.isRegistered(ev.id, u.id)) return null;
+                if (journal != null) journal.logReminder(r);
+                reminders.schedule(r);
+            }
+        } finally {
+            changeGate.readLock().unlock();
+        }
+        awaitDurable();
+        return r;
+    }
+
+    // Called from the wheel thread with everything that fell due in one step. It
+    // doesn't wait for the sync: at worst a crash shows a reminder again.
+    static void deliverReminders(List<Reminder> due) {
+        if (journal != null) {
+            for (Reminder r : due) journal.logReminderDone(r.id);
+        }
+        SwingUtilities.invokeLater(() -> {
+            for (Reminder r : due) {
+                User u = users.find(r.username);
+                if (u != null && r.eventId < events.size()) notifications.post(events.get(r.eventId), u, false);
+            }
+        });
+    }
+
+    static void publishResult(Result r) {
+        changeGate.readLock().lock();
+        storeLock.lock();
+        try {
+            if (journal != null) journal.logResult(r);
+            results.add(r);
+            resultsVersion.incrementAndGet();
+            Metrics.resultsPublished.increment();
+        } finally {
+            storeLock.unlock();
+            changeGate.readLock().unlock();
+        }
+        awaitDurable();
+    }
+
+    // Validate first (see ResultBatch); the batch is journaled and published as one
+    static void publishResults(List<Result> batch) {
+        if (batch.isEmpty()) return;
+        changeGate.readLock().lock();
+        storeLock.lock();
+        try {
+            if (journal != null) journal.logResults(batch);
+            results.addAll(batch);
+            resultsVersion.incrementAndGet();
+            Metrics.resultsPublished.add(batch.size());
+        } finally {
+            storeLock.unlock();
+            changeGate.readLock().unlock();
+        }
+        awaitDurable();
+    }
+
     // ====================== Helpers ======================
     static String eventList() {
+        long t0 = System.nanoTime();
         StringBuilder sb = new StringBuilder("=== EVENTS ===\n\n");
-        for (int i = 0; i < events.size(); i++) {
-            sb.append((i + 1)).append(". ").append(events.get(i).toString()).append("\n");
+        List<Event> all = events.snapshot();
+        for (int i = 0; i < all.size(); i++) {
+            sb.append((i + 1)).append(". ").append(all.get(i).toString()).append("\n");
+        }
+        Metrics.eventList.record(System.nanoTime() - t0);
+        return sb.toString();
+    }
+
+    // Credential check for the login page and the API, counted in Metrics
+    static User login(String username, String password, String role) {
+        long t0 = System.nanoTime();
+        User u = users.authenticate(username, password, role);
+        Metrics.login.record(System.nanoTime() - t0);
+        (u != null ? Metrics.loginSuccesses : Metrics.loginFailures).increment();
+        return u;
+    }
+
+    static String myEventsText(User student) {
+        StringBuilder sb = new StringBuilder("=== MY EVENTS ===\n\n");
+        int[] ids = registrations.eventsOf(student.id);
+        for (int i = 0; i < ids.length; i++) {
+            sb.append(i + 1).append(". ").append(events.get(ids[i]).toString()).append("\n");
+        }
+        if (ids.length == 0) sb.append("You have not registered for any events yet.");
+        boolean header = false;
+        for (int id : waitlist.eventsOf(student.id)) {
+            Event ev = events.get(id);
+            int place = waitlistPosition(ev, student);
+            if (place == 0) continue;
+            if (!header) sb.append("\n\n=== WAITLISTED ===\n\n");
+            header = true;
+            sb.append("#").append(place).append(" for ").append(ev.toString()).append("\n");
+        }
+        return sb.toString();
+    }
+
+    static int[] attendeeIds(Event ev, Event also) {
+        return also == null ? registrations.attendees(ev.id) : registrations.attendeesOfBoth(ev.id, also.id);
+    }
+
+    static String attendeesText(Event ev, Event also) {
+        int[] ids = attendeeIds(ev, also);
+        StringBuilder sb = new StringBuilder("=== ATTENDEES: ").append(ev.name);
+        if (also != null) sb.append(" AND ").append(also.name);
+        sb.append(" (").append(ids.length).append(") ===\n\n");
+        for (int i = 0; i < ids.length; i++) {
+            sb.append(i + 1).append(". ").append(users.get(ids[i]).toString()).append("\n");
+        }
+        if (ids.length == 0) sb.append("No registered students.");
+        return sb.toString();
+    }
+
+    // Free slots of half an hour or more at a venue, day by day for `days` days from `from`
+    static String freeSlotsText(String location, LocalDate from, int days) {
+        StringBuilder sb = new StringBuilder("=== FREE SLOTS: ").append(location.trim()).append(", ")
+                .append(from).append(" to ").append(from.plusDays(days - 1)).append(" ===\n");
+        List<EventStore.Slot> slots = events.freeSlots(location, from, days, 30);
+        int next = 0;
+        for (int i = 0; i < days; i++) {
+            LocalDate date = from.plusDays(i);
+            sb.append("\n").append(date).append(" (").append(date.getDayOfWeek().getDisplayName(TextStyle.SHORT, Locale.ENGLISH)).append(")\n");
+            boolean any = false;
+            for (; next < slots.size() && slots.get(next).date().equals(date); next++) {
+                EventStore.Slot slot = slots.get(next);
+                sb.append("  free ").append(Event.clock(slot.startMinute())).append("-").append(Event.clock(slot.endMinute())).append("\n");
+                any = true;
+            }
+            if (!any) sb.append("  fully booked\n");
+        }
+        return sb.toString();
+    }
+
+    // Quotes a CSV field when it needs it
+    static String csv(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0 && field.indexOf('\n') < 0) return field;
+        return '"' + field.replace("\"", "\"\"") + '"';
+    }
+
+    // Student-view results for one event, best position first
+    static String resultsText(String eventName) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Results for: ").append(eventName).append("\n\n");
+        int count = 0;
+        for (Result r : results.forEvent(eventName)) {
+            count++;
+            sb.append(count).append(". ").append(r.studentName)
+              .append(" | ").append(r.department)
+              .append(" | ").append(r.position).append("\n");
+        }
+        if (count == 0) sb.append("No results published for this event yet.");
+        else sb.append("\n🎉 Congratulations to all winners!");
+        return sb.toString();
+    }
+
+    // Inter-department trophy table, read straight from the running tallies
+    static String departmentStandings() {
+        ArrayList<Map.Entry<String, int[]>> rows = new ArrayList<>(results.departmentTallies().entrySet());
+        rows.sort((a, b) -> {
+            for (int i = 0; i < 4; i++) {
+                int c = Integer.compare(b.getValue()[i], a.getValue()[i]);
+                if (c != 0) return c;
+            }
+            return a.getKey().compareTo(b.getKey());
+        });
+        StringBuilder sb = new StringBuilder("=== DEPARTMENT STANDINGS ===\n\n");
+        sb.append("Department | 1st | 2nd | 3rd | Other\n");
+        for (int i = 0; i < rows.size(); i++) {
+            int[] t = rows.get(i).getValue();
+            sb.append(i + 1).append(". ").append(rows.get(i).getKey())
+              .append(" | ").append(t[ResultStore.GOLD])
+              .append(" | ").append(t[ResultStore.SILVER])
+              .append(" | ").append(t[ResultStore.BRONZE])
+              .append(" | ").append(t[ResultStore.OTHER]).append("\n");
         }
+        if (rows.isEmpty()) sb.append("No results published yet.");
         return sb.toString();
     }
 
+    // Dashboard search panel; faculty and students only search events
+    static SearchBox searchSidebar(JFrame f, boolean eventsOnly) {
+        SearchBox search = new SearchBox(eventsOnly, hit -> {
+            if (hit.event() != null) {
+                showEventsForDate(hit.event().date);
+            } else {
+                User u = hit.user();
+                JOptionPane.showMessageDialog(f, "Username: " + u.username + "\nRole: " + u.role
+                        + "\nFull name: " + u.fullName + "\nDepartment: " + u.department, "User", JOptionPane.INFORMATION_MESSAGE);
+            }
+        });
+        search.setBorder(BorderFactory.createCompoundBorder(BorderFactory.createEmptyBorder(8, 8, 8, 0),
+                BorderFactory.createTitledBorder("Search")));
+        search.setPreferredSize(new Dimension(260, 0));
+        return search;
+    }
+
     static JFrame baseFrame(String title) {
         JFrame f = new JFrame(title);
         f.setSize(800, 520);
@@ -714,12 +5390,10 @@ public class SmartEventOrganizerSwing {
         b.setBackground(PRIMARY);
         b.setForeground(Color.WHITE);
         b.setFocusPainted(false);
-        b.setFont(new Font("SansSerif", Font.BOLD, 13));
-        b.setBorder(BorderFactory.createEmptyBorder(6, 12, 6, 12));
-        b.setCursor(Cursor.getPredefinedCursor(Cursor.HAND_CURSOR));
-        b.addMouseListener(new java.awt.event.MouseAdapter() {
-            public void mouseEntered(java.awt.event.MouseEvent evt) { b.setBackground(HOVER); }
-            public void mouseExited(java.awt.event.MouseEvent evt) { b.setBackground(PRIMARY); }
-        });
+        b.setFont(BUTTON_FONT);
+        b.setBorder(BUTTON_BORDER);
+        b.setCursor(HAND);
+        b.addActionListener(EdtMonitor.ACTION_MARKER);
+        b.addMouseListener(HOVER_LISTENER);
     }
 }